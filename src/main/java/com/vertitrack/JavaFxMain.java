@@ -1,29 +1,95 @@
 package com.vertitrack;
 
+import com.vertitrack.config.StartupPhases;
 import com.vertitrack.event.StageReadyEvent;
 import javafx.application.Application;
 import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import javafx.stage.StageStyle;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.context.ConfigurableApplicationContext;
 
+/**
+ * JavaFX entry point
+ * A splash window is shown first; the Spring context (and with it Hibernate's
+ * schema update against MySQL) starts on a background thread and the dashboard
+ * replaces the splash once it is ready.
+ */
 public class JavaFxMain extends Application {
 
-    private ConfigurableApplicationContext applicationContext;
-
-    @Override
-    public void init() {
-        applicationContext = new SpringApplicationBuilder(VertiTrackApp.class).run();
-    }
+    private volatile ConfigurableApplicationContext applicationContext;
+    private Stage splash;
 
     @Override
     public void start(Stage stage) {
-        applicationContext.publishEvent(new StageReadyEvent(stage));
+        StartupPhases.mark("JavaFX toolkit");
+        splash = createSplash();
+        splash.show();
+        StartupPhases.mark("Splash shown");
+
+        Thread bootstrap = new Thread(() -> {
+            try {
+                ConfigurableApplicationContext context = new SpringApplicationBuilder(VertiTrackApp.class)
+                    .applicationStartup(StartupPhases.STEPS)
+                    .run();
+                StartupPhases.mark("Spring context");
+                StartupPhases.logSlowestBeans(5);
+                Platform.runLater(() -> showMainStage(context, stage));
+            } catch (Throwable e) {
+                Platform.runLater(() -> failStartup(e));
+            }
+        }, "spring-bootstrap");
+        bootstrap.start();
     }
 
     @Override
     public void stop() {
-        applicationContext.close();
+        if (applicationContext != null) {
+            applicationContext.close();
+        }
         Platform.exit();
     }
-}
\ No newline at end of file
+
+    // Helper methods
+    private void showMainStage(ConfigurableApplicationContext context, Stage stage) {
+        applicationContext = context;
+        context.publishEvent(new StageReadyEvent(stage));
+        splash.close();
+        StartupPhases.mark("Dashboard shown");
+    }
+
+    private void failStartup(Throwable error) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("VertiTrack");
+        alert.setHeaderText("VertiTrack could not start");
+        alert.setContentText(error.getMessage());
+        alert.showAndWait();
+        splash.close();
+        Platform.exit();
+    }
+
+    private Stage createSplash() {
+        Label title = new Label("VertiTrack");
+        title.setStyle("-fx-font-size: 28px; -fx-font-weight: bold;");
+        Label status = new Label("Connecting to database...");
+        ProgressIndicator progress = new ProgressIndicator();
+        progress.setPrefSize(40, 40);
+
+        VBox box = new VBox(16, title, progress, status);
+        box.setAlignment(Pos.CENTER);
+        box.setPadding(new Insets(30));
+        box.setStyle("-fx-background-color: white; -fx-border-color: #cccccc;");
+
+        Stage stage = new Stage(StageStyle.UNDECORATED);
+        stage.setScene(new Scene(box, 360, 220));
+        stage.centerOnScreen();
+        return stage;
+    }
+}
@@ -0,0 +1,54 @@
+package com.vertitrack.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cache Configuration - Named Caffeine caches for service read methods
+ *
+ * Each cache has its own size and time-to-live: the paged tables' row counts
+ * are kept longer, alert lists shorter because the reminder job creates alerts.
+ * Services evict on every save and delete; the TTL only
+ * bounds staleness from writes that bypass them (manual SQL). Puts and
+ * evictions inside a transaction are applied after commit, so a concurrent
+ * read cannot re-cache the old row before the write is visible.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String LIFT_COUNTS = "liftCounts";
+    public static final String EMPLOYEE_COUNTS = "employeeCounts";
+    public static final String UNREAD_ALERTS = "unreadAlerts";
+    public static final String ALERT_COUNTS = "alertCounts";
+
+    @Bean
+    public CacheManager cacheManager() {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+            cache(LIFT_COUNTS, 1, Duration.ofMinutes(10)),
+            cache(EMPLOYEE_COUNTS, 1, Duration.ofMinutes(10)),
+            cache(UNREAD_ALERTS, 1, Duration.ofMinutes(2)),
+            cache(ALERT_COUNTS, 1, Duration.ofMinutes(2))
+        ));
+        cacheManager.initializeCaches();
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private static CaffeineCache cache(String name, long maximumSize, Duration timeToLive) {
+        return new CaffeineCache(name, Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build());
+    }
+}
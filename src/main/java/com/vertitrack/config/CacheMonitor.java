@@ -0,0 +1,57 @@
+package com.vertitrack.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.vertitrack.service.AlertService;
+import com.vertitrack.service.LiftService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache Monitor - Warms the service caches at startup and logs their statistics
+ * Warm-up runs before the first window opens and loads only the dashboard's
+ * unread alerts and the lift table's row count, so those first reads are served
+ * from memory without lengthening startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheMonitor implements ApplicationRunner {
+
+    private final CacheManager cacheManager;
+    private final LiftService liftService;
+    private final AlertService alertService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        liftService.countAllLifts();
+        alertService.findUnreadAlerts();
+        alertService.countUnreadAlerts();
+        log.info("Caches warmed in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Log hit rate, evictions and load time for every cache that has been used
+     */
+    @Scheduled(fixedDelay = 30 * 60 * 1000, initialDelay = 30 * 60 * 1000)
+    public void logStats() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+                continue;
+            }
+            CacheStats stats = nativeCache.stats();
+            if (stats.requestCount() == 0) continue;
+            log.info("Cache {}: {} entries, {} requests, hit rate {}%, {} evictions, avg load {} ms",
+                name, nativeCache.estimatedSize(), stats.requestCount(),
+                String.format("%.1f", stats.hitRate() * 100), stats.evictionCount(),
+                String.format("%.2f", stats.averageLoadPenalty() / 1_000_000));
+        }
+    }
+}
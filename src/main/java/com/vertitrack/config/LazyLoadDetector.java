@@ -0,0 +1,211 @@
+package com.vertitrack.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Lazy Load Detector - Diagnostic mode that reports lazy loads and N+1 patterns
+ *
+ * Hooks Hibernate's collection initialization and proxy (immediate) load
+ * events and records, per transaction, where in our code each lazy load was
+ * triggered. Loads of the same association from the same call site are one
+ * "shape"; a shape repeated threshold times in one transaction is an N+1.
+ * Lombok @Data toString/equals/hashCode walking a collection shows up with
+ * the model class as the first frame. With fail-on-violation the load that
+ * crosses the threshold throws, which fails the test (or request) that caused
+ * it; otherwise each offending transaction is logged when it completes.
+ *
+ * Enable with vertitrack.diagnostics.lazy-loading.enabled=true; not meant for production.
+ */
+@Component
+@ConditionalOnProperty(prefix = "vertitrack.diagnostics.lazy-loading", name = "enabled", havingValue = "true")
+@Slf4j
+public class LazyLoadDetector {
+
+    private static final int SITE_DEPTH = 3;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final int threshold;
+    private final boolean failOnViolation;
+    private final Map<SharedSessionContractImplementor, TransactionLoads> loadsBySession =
+        Collections.synchronizedMap(new WeakHashMap<>());
+    private final List<Violation> violations = Collections.synchronizedList(new ArrayList<>());
+
+    public LazyLoadDetector(EntityManagerFactory entityManagerFactory,
+                            @Value("${vertitrack.diagnostics.lazy-loading.threshold:5}") int threshold,
+                            @Value("${vertitrack.diagnostics.lazy-loading.fail-on-violation:false}") boolean failOnViolation) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.threshold = threshold;
+        this.failOnViolation = failOnViolation;
+    }
+
+    @PostConstruct
+    public void init() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.INIT_COLLECTION, new CollectionListener());
+        registry.appendListeners(EventType.LOAD, new ProxyListener());
+        log.warn("Lazy load detection is on (N+1 threshold {}, fail on violation {})", threshold, failOnViolation);
+    }
+
+    /**
+     * N+1 patterns seen since startup or the last reset()
+     */
+    public List<Violation> getViolations() {
+        synchronized (violations) {
+            return new ArrayList<>(violations);
+        }
+    }
+
+    public void reset() {
+        violations.clear();
+    }
+
+    // Event handling
+    private void record(EventSource session, String association) {
+        String site = callSite();
+        TransactionLoads loads;
+        synchronized (loadsBySession) {
+            loads = loadsBySession.get(session);
+            if (loads == null) {
+                loads = new TransactionLoads();
+                loadsBySession.put(session, loads);
+                // One report per transaction, whether it commits or rolls back
+                session.getActionQueue().registerProcess((success, completed) -> transactionCompleted(completed));
+            }
+        }
+
+        log.debug("Lazy load of {} at {}", association, site);
+        int count = loads.add(association + " @ " + site);
+        if (count == threshold) {
+            Violation violation = new Violation(association, site, count);
+            violations.add(violation);
+            if (failOnViolation) {
+                throw new LazyLoadViolationException(violation);
+            }
+        }
+    }
+
+    private void transactionCompleted(SharedSessionContractImplementor session) {
+        TransactionLoads loads = loadsBySession.remove(session);
+        if (loads == null) return;
+        Map<String, Integer> repeated = loads.countsByShape.entrySet().stream()
+            .filter(entry -> entry.getValue() >= threshold)
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        if (repeated.isEmpty()) {
+            log.debug("Transaction triggered {} lazy loads", loads.total);
+            return;
+        }
+        StringBuilder report = new StringBuilder("N+1 lazy loading: transaction triggered ")
+            .append(loads.total).append(" lazy loads");
+        repeated.forEach((shape, count) -> report.append("\n  ").append(count).append("x ").append(shape));
+        log.warn(report.toString());
+    }
+
+    private static String callSite() {
+        List<String> frames = StackWalker.getInstance().walk(stack -> stack
+            .filter(frame -> frame.getClassName().startsWith("com.vertitrack.")
+                && !frame.getClassName().startsWith(LazyLoadDetector.class.getName()))
+            .limit(SITE_DEPTH)
+            .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+            .toList());
+        return frames.isEmpty() ? "(outside application code)" : String.join(" <- ", frames);
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Lazy loads of one transaction, counted by shape
+     */
+    private static class TransactionLoads {
+        private final Map<String, Integer> countsByShape = new LinkedHashMap<>();
+        private int total;
+
+        synchronized int add(String shape) {
+            total++;
+            return countsByShape.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    private class CollectionListener implements InitializeCollectionEventListener {
+        @Override
+        public void onInitializeCollection(InitializeCollectionEvent event) throws HibernateException {
+            record(event.getSession(), event.getCollection().getRole());
+        }
+    }
+
+    private class ProxyListener implements LoadEventListener {
+        @Override
+        public void onLoad(LoadEvent event, LoadType loadType) throws HibernateException {
+            // Proxies initialize through an immediate load; find() and queries use other load types
+            if (loadType == LoadEventListener.IMMEDIATE_LOAD) {
+                record(event.getSession(), event.getEntityClassName() + " proxy");
+            }
+        }
+    }
+
+    /**
+     * One association loaded threshold times from one call site in one transaction
+     */
+    public static class Violation {
+        private final String association;
+        private final String site;
+        private final int count;
+
+        Violation(String association, String site, int count) {
+            this.association = association;
+            this.site = site;
+            this.count = count;
+        }
+
+        public String getAssociation() {
+            return association;
+        }
+
+        public String getSite() {
+            return site;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return count + " lazy loads of " + association + " at " + site;
+        }
+    }
+
+    /**
+     * Thrown when fail-on-violation is set and a transaction crosses the threshold
+     */
+    public static class LazyLoadViolationException extends IllegalStateException {
+        public LazyLoadViolationException(Violation violation) {
+            super("N+1 lazy loading detected: " + violation);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.vertitrack.config;
+
+import com.vertitrack.service.AttendancePartitionService;
+import com.vertitrack.service.LiftReliabilityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schema Migration Runner - Applies column changes that ddl-auto=update cannot
+ * Hibernate only adds missing tables and columns; it never alters an existing
+ * column type. Every step checks information_schema first, so it is safe to run
+ * on every startup. Runs before any other startup runner reads the tables.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaMigrationRunner implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AttendancePartitionService attendancePartitionService;
+    private final LiftReliabilityService liftReliabilityService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Audit timestamps used by delta export watermarks were originally DATE
+        widenToDateTime("lifts", "created_at");
+        widenToDateTime("lifts", "updated_at");
+        widenToDateTime("employees", "created_at");
+        widenToDateTime("employees", "updated_at");
+        
+        // Quarter payment dates moved from four lift columns to payment_schedule rows
+        migrateQuarterlyPayments();
+        
+        // Monthly range partitions for attendance (one-time rebuild, then future months)
+        attendancePartitionService.ensurePartitioned();
+        attendancePartitionService.verifyPruning();
+        
+        // Reliability stats side table, built once from the service history
+        runOnce("lift-reliability-backfill", liftReliabilityService::rebuildAll);
+    }
+
+    /**
+     * Run a one-time step unless schema_migrations records it as done
+     */
+    private void runOnce(String migration, Runnable step) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations " +
+            "(name VARCHAR(100) NOT NULL PRIMARY KEY, applied_at DATETIME(6) NOT NULL)");
+        Long applied = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM schema_migrations WHERE name = ?", Long.class, migration);
+        if (applied != null && applied > 0) return;
+        step.run();
+        jdbcTemplate.update("INSERT INTO schema_migrations (name, applied_at) VALUES (?, NOW(6))", migration);
+        log.info("Applied one-time migration {}", migration);
+    }
+    
+    private void migrateQuarterlyPayments() {
+        Long scheduled = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payment_schedule", Long.class);
+        if (scheduled == null || scheduled > 0) return;
+        
+        StringBuilder select = new StringBuilder();
+        for (int quarter = 1; quarter <= 4; quarter++) {
+            String column = "quarter" + quarter + "payment_date";
+            if (columnType("lifts", column) == null) return;
+            if (quarter > 1) select.append(" UNION ALL ");
+            select.append("SELECT id, ").append(quarter).append(", ").append(column)
+                  .append(" AS due_date, quarterly_amount FROM lifts WHERE ").append(column).append(" IS NOT NULL");
+        }
+        // INSERT IGNORE: two quarters on the same date collapse into one installment.
+        // The old columns never recorded payment, so past dates are UNKNOWN rather than outstanding.
+        int rows = jdbcTemplate.update(
+            "INSERT IGNORE INTO payment_schedule (lift_id, installment, due_date, amount, status, created_at, updated_at, version) " +
+            "SELECT q.*, CASE WHEN q.due_date < CURDATE() THEN 'UNKNOWN' ELSE 'DUE' END, NOW(6), NOW(6), 0 " +
+            "FROM (" + select + ") q");
+        log.info("Migrated {} quarterly payment dates to payment_schedule", rows);
+    }
+
+    private void widenToDateTime(String table, String column) {
+        String type = columnType(table, column);
+        if ("date".equalsIgnoreCase(type)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY " + column + " DATETIME(6)");
+            log.info("Migrated {}.{} from DATE to DATETIME(6)", table, column);
+        }
+    }
+
+    private String columnType(String table, String column) {
+        return jdbcTemplate.query(
+            "SELECT data_type FROM information_schema.columns " +
+            "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?",
+            rs -> rs.next() ? rs.getString(1) : null,
+            table, column);
+    }
+}
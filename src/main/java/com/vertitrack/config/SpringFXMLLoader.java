@@ -2,20 +2,39 @@ package com.vertitrack.config;
 
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Spring-aware FXML Loader
  * Integrates Spring dependency injection with JavaFX FXML
+ * FXML sources are read once and kept in memory; warmUp() also pre-loads the
+ * classes a file references so the first build on the FX thread is cheaper.
  */
 @Component
+@Slf4j
 public class SpringFXMLLoader {
     
+    private static final Pattern IMPORT = Pattern.compile("<\\?import\\s+([\\w.]+(?:\\.\\*)?)\\s*\\?>");
+    private static final Pattern ELEMENT = Pattern.compile("<([A-Z]\\w*)[\\s/>]");
+    
     private final ApplicationContext applicationContext;
+    private final Map<String, byte[]> sources = new ConcurrentHashMap<>();
     
     public SpringFXMLLoader(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
@@ -25,6 +44,15 @@ public class SpringFXMLLoader {
      * Load FXML file and inject Spring dependencies into controller
      */
     public Parent load(String fxmlPath) throws IOException {
+        FXMLLoader loader = getLoader(fxmlPath);
+        return loader.load(new ByteArrayInputStream(source(fxmlPath)));
+    }
+    
+    /**
+     * Load FXML and get the loader (useful to access controller)
+     * Call load(InputStream) with source(fxmlPath) to use the cached source.
+     */
+    public FXMLLoader getLoader(String fxmlPath) throws IOException {
         FXMLLoader loader = new FXMLLoader();
         URL fxmlUrl = getClass().getResource(fxmlPath);
         
@@ -37,23 +65,61 @@ public class SpringFXMLLoader {
         // Set controller factory to use Spring context
         loader.setControllerFactory(applicationContext::getBean);
         
-        return loader.load();
+        return loader;
     }
     
     /**
-     * Load FXML and get the loader (useful to access controller)
+     * FXML source bytes, read from the classpath once
      */
-    public FXMLLoader getLoader(String fxmlPath) throws IOException {
-        FXMLLoader loader = new FXMLLoader();
-        URL fxmlUrl = getClass().getResource(fxmlPath);
-        
-        if (fxmlUrl == null) {
-            throw new IOException("FXML file not found: " + fxmlPath);
+    public byte[] source(String fxmlPath) throws IOException {
+        byte[] cached = sources.get(fxmlPath);
+        if (cached != null) {
+            return cached;
+        }
+        try (InputStream in = getClass().getResourceAsStream(fxmlPath)) {
+            if (in == null) {
+                throw new IOException("FXML file not found: " + fxmlPath);
+            }
+            byte[] bytes = in.readAllBytes();
+            sources.put(fxmlPath, bytes);
+            return bytes;
+        }
+    }
+    
+    /**
+     * Read the source and load (without initializing) every class it references
+     * Safe to call off the FX thread; no nodes are created.
+     */
+    public int warmUp(String fxmlPath) throws IOException {
+        String fxml = new String(source(fxmlPath), StandardCharsets.UTF_8);
+        List<String> imports = new ArrayList<>();
+        Matcher importMatcher = IMPORT.matcher(fxml);
+        while (importMatcher.find()) {
+            imports.add(importMatcher.group(1));
+        }
+        Set<String> elements = new LinkedHashSet<>();
+        Matcher elementMatcher = ELEMENT.matcher(fxml);
+        while (elementMatcher.find()) {
+            elements.add(elementMatcher.group(1));
         }
         
-        loader.setLocation(fxmlUrl);
-        loader.setControllerFactory(applicationContext::getBean);
-        
-        return loader;
+        ClassLoader classLoader = getClass().getClassLoader();
+        int loaded = 0;
+        for (String element : elements) {
+            for (String imported : imports) {
+                String candidate = imported.endsWith(".*")
+                    ? imported.substring(0, imported.length() - 1) + element
+                    : (imported.endsWith("." + element) ? imported : null);
+                if (candidate == null) continue;
+                try {
+                    Class.forName(candidate, false, classLoader);
+                    loaded++;
+                    break;
+                } catch (ClassNotFoundException e) {
+                    // Not in this package; try the next import
+                }
+            }
+        }
+        return loaded;
     }
-}
+}
\ No newline at end of file
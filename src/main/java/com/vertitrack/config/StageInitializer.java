@@ -1,6 +1,7 @@
 package com.vertitrack.config;
 
 import com.vertitrack.event.StageReadyEvent;
+import javafx.application.Platform;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
@@ -16,7 +17,12 @@ import java.io.IOException;
 @Slf4j
 public class StageInitializer implements ApplicationListener<StageReadyEvent> {
     
-    private final SpringFXMLLoader fxmlLoader;
+    /**
+     * Set to true to exit once startup is complete (see README, Fast startup)
+     */
+    public static final String CDS_TRAINING_PROPERTY = "vertitrack.cds.training";
+    
+    private final ViewRegistry viewRegistry;
     
     @Override
     public void onApplicationEvent(StageReadyEvent event) {
@@ -24,7 +30,7 @@ public class StageInitializer implements ApplicationListener<StageReadyEvent> {
             Stage stage = event.getStage();
             
             // Load the dashboard FXML
-            Parent root = fxmlLoader.load("/fxml/dashboard.fxml");
+            Parent root = viewRegistry.getView("/fxml/dashboard.fxml").getRoot();
             
             // Create scene
             Scene scene = new Scene(root, 1400, 850);
@@ -41,6 +47,16 @@ public class StageInitializer implements ApplicationListener<StageReadyEvent> {
             
             log.info("VertiTrack application started successfully");
             
+            // Secondary windows are built while the dashboard is idle
+            viewRegistry.preload("/fxml/lift_input.fxml").thenRun(() -> {
+                StartupPhases.mark("Views preloaded");
+                if (Boolean.getBoolean(CDS_TRAINING_PROPERTY)) {
+                    // Training run for the class-data-sharing archive: every startup class is loaded now
+                    log.info("CDS training run complete, exiting");
+                    Platform.exit();
+                }
+            });
+            
         } catch (IOException e) {
             log.error("Failed to load dashboard", e);
             e.printStackTrace();
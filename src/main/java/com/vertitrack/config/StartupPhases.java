@@ -0,0 +1,61 @@
+package com.vertitrack.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.StartupStep;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Startup Phases - Logs how long each step of application startup takes
+ *
+ * Each mark() logs the time since the previous mark and since JVM start, so a
+ * slow phase shows up in the log of every launch. The Spring context is started
+ * with STEPS, and logSlowestBeans() reports the bean instantiations that took
+ * longest. Static because the first phases happen before Spring exists.
+ */
+@Slf4j
+public final class StartupPhases {
+
+    /**
+     * Records Spring's startup steps; passed to SpringApplicationBuilder
+     */
+    public static final BufferingApplicationStartup STEPS = new BufferingApplicationStartup(4096);
+
+    private static final long JVM_START = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static long lastMark = JVM_START;
+
+    private StartupPhases() {
+    }
+
+    /**
+     * Record the end of a phase; may be called from any thread
+     */
+    public static synchronized void mark(String phase) {
+        long now = System.currentTimeMillis();
+        log.info("Startup: {} took {} ms ({} ms since JVM start)", phase, now - lastMark, now - JVM_START);
+        lastMark = now;
+    }
+
+    /**
+     * Log the slowest bean instantiations recorded during context startup
+     * Times include the beans each one pulled in as dependencies.
+     */
+    public static void logSlowestBeans(int limit) {
+        List<StartupTimeline.TimelineEvent> slowest = STEPS.getBufferedTimeline().getEvents().stream()
+            .filter(event -> "spring.beans.instantiate".equals(event.getStartupStep().getName()))
+            .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+            .limit(limit)
+            .toList();
+        for (StartupTimeline.TimelineEvent event : slowest) {
+            String bean = "?";
+            for (StartupStep.Tag tag : event.getStartupStep().getTags()) {
+                if ("beanName".equals(tag.getKey())) bean = tag.getValue();
+            }
+            log.info("Startup: bean {} took {} ms", bean, event.getDuration().toMillis());
+        }
+    }
+}
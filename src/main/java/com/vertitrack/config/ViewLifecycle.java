@@ -0,0 +1,26 @@
+package com.vertitrack.config;
+
+/**
+ * Optional callbacks for controllers of views managed by ViewRegistry
+ * A view is built once, so initialize() runs once; per-visit work belongs here.
+ */
+public interface ViewLifecycle {
+    
+    /**
+     * The view is about to be shown (every time, including the first)
+     */
+    default void onShow() {
+    }
+    
+    /**
+     * The view's window was closed; the view stays cached
+     */
+    default void onHide() {
+    }
+    
+    /**
+     * The view is being discarded; remove listeners registered on objects that outlive it
+     */
+    default void dispose() {
+    }
+}
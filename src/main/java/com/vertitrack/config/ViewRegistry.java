@@ -0,0 +1,187 @@
+package com.vertitrack.config;
+
+import jakarta.annotation.PreDestroy;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Group;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * View Registry - Builds each FXML view once and re-shows it
+ *
+ * Controllers are Spring singletons, so loading an FXML file twice would run
+ * initialize() on the same controller again and stack a second set of
+ * listeners. Here a view is built once, kept with its Scene and Stage, and
+ * re-shown; controllers implementing ViewLifecycle are told when their view
+ * is shown, hidden and discarded. preload() reads FXML sources and loads
+ * their classes on a background thread, then builds the views on the FX
+ * thread one per pulse, so the first open is as quick as the next.
+ * Nodes are only created on the FX thread because controller initialize()
+ * methods start UiTasks, which must. FX thread only unless noted.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ViewRegistry {
+
+    private final SpringFXMLLoader fxmlLoader;
+    private final Map<String, View> views = new LinkedHashMap<>();
+
+    /**
+     * The built view for an FXML path, building it on first use
+     */
+    public View getView(String fxmlPath) throws IOException {
+        View view = views.get(fxmlPath);
+        if (view == null) {
+            long start = System.nanoTime();
+            FXMLLoader loader = fxmlLoader.getLoader(fxmlPath);
+            Parent root = loader.load(new ByteArrayInputStream(fxmlLoader.source(fxmlPath)));
+            view = new View(fxmlPath, root, loader.getController());
+            views.put(fxmlPath, view);
+            log.info("Built view {} in {} ms", fxmlPath, (System.nanoTime() - start) / 1_000_000);
+        }
+        return view;
+    }
+
+    /**
+     * Show a view in its own modal window and wait until it is closed
+     * The window is created on first use and reused afterwards.
+     */
+    public void showModal(String fxmlPath, String title, double width, double height, Window owner) throws IOException {
+        View view = getView(fxmlPath);
+        if (view.stage == null) {
+            Stage stage = new Stage();
+            stage.setTitle(title);
+            stage.setScene(new Scene(view.root, width, height));
+            stage.initModality(Modality.APPLICATION_MODAL);
+            if (owner != null) {
+                stage.initOwner(owner);
+            }
+            stage.setOnHidden(e -> view.lifecycle().ifPresent(ViewLifecycle::onHide));
+            view.stage = stage;
+        }
+
+        view.lifecycle().ifPresent(ViewLifecycle::onShow);
+        view.stage.showAndWait();
+    }
+
+    /**
+     * Warm the given views in the background, then build them on the FX thread
+     * May be called from any thread; completes once every view is built.
+     */
+    public CompletableFuture<Void> preload(String... fxmlPaths) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Thread warmer = new Thread(() -> {
+            long start = System.nanoTime();
+            List<String> warmed = new ArrayList<>();
+            for (String path : fxmlPaths) {
+                try {
+                    int classes = fxmlLoader.warmUp(path);
+                    log.debug("Warmed {} ({} classes)", path, classes);
+                    warmed.add(path);
+                } catch (IOException e) {
+                    log.warn("Could not warm view {}: {}", path, e.getMessage());
+                }
+            }
+            log.info("Warmed {} views in {} ms", warmed.size(), (System.nanoTime() - start) / 1_000_000);
+            // One view per runLater so each build gets its own pulse
+            for (String path : warmed) {
+                Platform.runLater(() -> {
+                    try {
+                        getView(path);
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("Could not preload view {}", path, e);
+                    }
+                });
+            }
+            Platform.runLater(() -> done.complete(null));
+        }, "view-preload");
+        warmer.setDaemon(true);
+        warmer.start();
+        return done;
+    }
+
+    /**
+     * Discard a view: close its window and let its controller release listeners
+     * The next getView() builds it again.
+     */
+    public void evict(String fxmlPath) {
+        View view = views.remove(fxmlPath);
+        if (view != null) {
+            dispose(view);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!Platform.isFxApplicationThread()) {
+            views.clear();
+            return;
+        }
+        for (View view : views.values()) {
+            dispose(view);
+        }
+        views.clear();
+    }
+
+    // Helper methods
+    private void dispose(View view) {
+        if (view.stage != null) {
+            view.stage.setOnHidden(null);
+            view.stage.hide();
+            // Detach the root so the cached scene does not keep it alive
+            view.stage.getScene().setRoot(new Group());
+            view.stage = null;
+        }
+        try {
+            view.lifecycle().ifPresent(ViewLifecycle::dispose);
+        } catch (RuntimeException e) {
+            log.warn("Error disposing view {}", view.path, e);
+        }
+        log.debug("Disposed view {}", view.path);
+    }
+
+    /**
+     * A built view: its root node, its controller and, once shown, its window
+     */
+    public static class View {
+        private final String path;
+        private final Parent root;
+        private final Object controller;
+        private Stage stage;
+
+        View(String path, Parent root, Object controller) {
+            this.path = path;
+            this.root = root;
+            this.controller = controller;
+        }
+
+        public Parent getRoot() {
+            return root;
+        }
+
+        public Object getController() {
+            return controller;
+        }
+
+        private Optional<ViewLifecycle> lifecycle() {
+            return controller instanceof ViewLifecycle lifecycle ? Optional.of(lifecycle) : Optional.empty();
+        }
+    }
+}
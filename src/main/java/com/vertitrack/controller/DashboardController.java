@@ -1,19 +1,12 @@
 package com.vertitrack.controller;
 
-import com.vertitrack.config.SpringFXMLLoader;
+import com.vertitrack.config.ViewRegistry;
 import com.vertitrack.model.Alert;
-import com.vertitrack.model.Lift;
 import com.vertitrack.service.*;
-import javafx.application.Platform;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.stage.Modality;
-import javafx.stage.Stage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -21,20 +14,27 @@ import org.springframework.stereotype.Controller;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequiredArgsConstructor
 @Slf4j
 public class DashboardController {
     
-    private final LiftService liftService;
-    private final ServiceRecordService serviceRecordService;
-    private final ExpenseService expenseService;
-    private final EmployeeService employeeService;
+    private static final Map<Alert.AlertPriority, PseudoClass> PRIORITY_PSEUDO_CLASSES = new EnumMap<>(Alert.AlertPriority.class);
+    
+    static {
+        for (Alert.AlertPriority priority : Alert.AlertPriority.values()) {
+            PRIORITY_PSEUDO_CLASSES.put(priority, PseudoClass.getPseudoClass(priority.name().toLowerCase()));
+        }
+    }
+    
+    private final DashboardMetrics dashboardMetrics;
     private final AlertService alertService;
     private final ReminderService reminderService;
-    private final SpringFXMLLoader fxmlLoader;
+    private final ViewRegistry viewRegistry;
     
     // Dashboard Statistics
     @FXML private Label totalLiftsLabel;
@@ -44,7 +44,7 @@ public class DashboardController {
     
     // Alert Table
     @FXML private TableView<Alert> alertsTable;
-    @FXML private TableColumn<Alert, String> priorityColumn;
+    @FXML private TableColumn<Alert, Alert.AlertPriority> priorityColumn;
     @FXML private TableColumn<Alert, String> typeColumn;
     @FXML private TableColumn<Alert, String> titleColumn;
     @FXML private TableColumn<Alert, String> messageColumn;
@@ -59,15 +59,26 @@ public class DashboardController {
     @FXML private Button attendanceButton;
     @FXML private Button reportsButton;
     
-    private ObservableList<Alert> alertsList = FXCollections.observableArrayList();
+    private final KeyedObservableList<Alert> alertsList = new KeyedObservableList<>(Alert::getId, Alert::getVersion);
+    private final UiTasks uiTasks = new UiTasks("Dashboard");
     
     @FXML
     public void initialize() {
         log.info("Initializing Dashboard Controller");
         
         setupAlertTable();
-        loadDashboardData();
+        setupLoadingState();
         setupEventHandlers();
+        loadDashboardData();
+    }
+    
+    private void setupLoadingState() {
+        Label emptyPlaceholder = new Label("No unread alerts");
+        Label loadingPlaceholder = new Label("Loading...");
+        alertsTable.setPlaceholder(loadingPlaceholder);
+        uiTasks.busyProperty().addListener((observable, wasBusy, busy) ->
+            alertsTable.setPlaceholder(busy ? loadingPlaceholder : emptyPlaceholder));
+        refreshButton.disableProperty().bind(uiTasks.busyProperty());
     }
     
     private void setupAlertTable() {
@@ -85,30 +96,18 @@ public class DashboardController {
         messageColumn.setPrefWidth(350);
         dateColumn.setPrefWidth(100);
         
-        // Color code by priority
-        priorityColumn.setCellFactory(column -> new TableCell<Alert, String>() {
+        // Color code by priority (colors are the :critical, :high, ... rules in styles.css)
+        priorityColumn.setCellFactory(column -> new TableCell<Alert, Alert.AlertPriority>() {
+            {
+                getStyleClass().add("priority-cell");
+            }
+            
             @Override
-            protected void updateItem(String item, boolean empty) {
+            protected void updateItem(Alert.AlertPriority item, boolean empty) {
                 super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setText(null);
-                    setStyle("");
-                } else {
-                    setText(item);
-                    switch (item) {
-                        case "CRITICAL":
-                            setStyle("-fx-background-color: #ffcccc; -fx-text-fill: #cc0000; -fx-font-weight: bold;");
-                            break;
-                        case "HIGH":
-                            setStyle("-fx-background-color: #ffe6cc; -fx-text-fill: #cc6600; -fx-font-weight: bold;");
-                            break;
-                        case "MEDIUM":
-                            setStyle("-fx-background-color: #ffffcc; -fx-text-fill: #996600;");
-                            break;
-                        case "LOW":
-                            setStyle("-fx-background-color: #cce6ff; -fx-text-fill: #0066cc;");
-                            break;
-                    }
+                setText(empty || item == null ? null : item.name());
+                for (Alert.AlertPriority priority : Alert.AlertPriority.values()) {
+                    pseudoClassStateChanged(PRIORITY_PSEUDO_CLASSES.get(priority), !empty && priority == item);
                 }
             }
         });
@@ -143,43 +142,33 @@ public class DashboardController {
     }
     
     private void loadDashboardData() {
-        try {
-            // Load statistics
-            long totalLifts = liftService.countActiveLifts();
-            long activeLifts = liftService.countLiftsByStatus(Lift.LiftStatus.ACTIVE);
-            long totalEmployees = employeeService.countActiveEmployees();
-            
-            LocalDate now = LocalDate.now();
-            Double monthlyExpenses = expenseService.getMonthlyTotalExpenses(now.getYear(), now.getMonthValue());
-            
-            Platform.runLater(() -> {
-                totalLiftsLabel.setText(String.valueOf(totalLifts));
-                activeLiftsLabel.setText(String.valueOf(activeLifts));
-                totalEmployeesLabel.setText(String.valueOf(totalEmployees));
-                monthlyExpensesLabel.setText(String.format("₹ %.2f", monthlyExpenses != null ? monthlyExpenses : 0.0));
-            });
-            
-            // Load alerts
-            loadAlerts();
-            
-            log.info("Dashboard data loaded successfully");
-            
-        } catch (Exception e) {
-            log.error("Error loading dashboard data", e);
-            showError("Error loading dashboard data: " + e.getMessage());
-        }
+        // Statistics and alerts are queried together and applied in one pulse
+        uiTasks.load("Loading dashboard data", this::fetchDashboardData, this::applyDashboardData,
+            error -> showError("Error loading dashboard data: " + error.getMessage()));
+    }
+    
+    // Runs on a background thread; the figures come from memory, only alerts hit the database
+    private DashboardData fetchDashboardData() {
+        DashboardMetrics.Snapshot metrics = dashboardMetrics.snapshot();
+        List<Alert> alerts = alertService.findUnreadAlerts();
+        return new DashboardData(metrics, alerts);
+    }
+    
+    private void applyDashboardData(DashboardData data) {
+        totalLiftsLabel.setText(String.valueOf(data.metrics.getTotalLifts()));
+        activeLiftsLabel.setText(String.valueOf(data.metrics.getActiveLifts()));
+        totalEmployeesLabel.setText(String.valueOf(data.metrics.getActiveEmployees()));
+        monthlyExpensesLabel.setText(String.format("₹ %.2f", data.metrics.getMonthlyExpenses()));
+        alertsList.reconcile(data.alerts);
+        
+        log.info("Dashboard data loaded successfully ({} alerts)", data.alerts.size());
     }
     
     private void loadAlerts() {
-        try {
-            List<Alert> alerts = alertService.findUnreadAlerts();
-            alertsList.clear();
-            alertsList.addAll(alerts);
-            
+        uiTasks.load("Loading alerts", alertService::findUnreadAlerts, alerts -> {
+            alertsList.reconcile(alerts);
             log.info("Loaded {} alerts", alerts.size());
-        } catch (Exception e) {
-            log.error("Error loading alerts", e);
-        }
+        });
     }
     
     private void setupEventHandlers() {
@@ -195,34 +184,49 @@ public class DashboardController {
     @FXML
     private void refreshDashboard() {
         log.info("Refreshing dashboard...");
-        reminderService.runManualCheck();
-        loadDashboardData();
+        uiTasks.execute("Running reminder check", reminderService::runManualCheck, this::loadDashboardData,
+            error -> showError("Error refreshing alerts: " + error.getMessage()));
     }
     
     private void markAlertAsRead() {
         Alert selectedAlert = alertsTable.getSelectionModel().getSelectedItem();
         if (selectedAlert != null) {
-            alertService.markAsRead(selectedAlert.getId());
-            loadAlerts();
+            Long alertId = selectedAlert.getId();
+            long version = selectedAlert.getVersion();
+            uiTasks.load("Marking alert as read", () -> alertService.markAsRead(alertId, version),
+                result -> alertTransitionDone(result, "marked as read"),
+                error -> showError("Error updating alert: " + error.getMessage()));
         }
     }
     
     private void dismissAlert() {
         Alert selectedAlert = alertsTable.getSelectionModel().getSelectedItem();
         if (selectedAlert != null) {
-            alertService.dismissAlert(selectedAlert.getId(), "Dismissed by user");
-            loadAlerts();
+            Long alertId = selectedAlert.getId();
+            long version = selectedAlert.getVersion();
+            uiTasks.load("Dismissing alert", () -> alertService.dismissAlert(alertId, version, "Dismissed by user"),
+                result -> alertTransitionDone(result, "dismissed"),
+                error -> showError("Error dismissing alert: " + error.getMessage()));
+        }
+    }
+    
+    // Tell the user when the change did not go through, then show the alerts as they are now
+    private void alertTransitionDone(StateTransition.Result result, String action) {
+        switch (result) {
+            case APPLIED -> { }
+            case ALREADY_APPLIED -> showError("This alert was already " + action + ".");
+            case NOT_ALLOWED -> showError("This alert was changed elsewhere and can no longer be " + action + ".");
+            case NOT_FOUND -> showError("This alert no longer exists.");
+            case CONFLICT -> showError("This alert kept changing while it was being " + action + ". Please try again.");
         }
+        loadAlerts();
     }
     
     private void openLiftManagement() {
         try {
-            Parent root = fxmlLoader.load("/fxml/lift_input.fxml");
-            Stage stage = new Stage();
-            stage.setTitle("Lift Management");
-            stage.setScene(new Scene(root, 900, 700));
-            stage.initModality(Modality.APPLICATION_MODAL);
-            stage.showAndWait();
+            // Built once (usually preloaded at startup) and re-shown on every open
+            viewRegistry.showModal("/fxml/lift_input.fxml", "Lift Management", 900, 700,
+                manageLiftsButton.getScene().getWindow());
             
             // Refresh dashboard after closing
             loadDashboardData();
@@ -267,4 +271,17 @@ public class DashboardController {
         alert.setContentText(message);
         alert.showAndWait();
     }
-}
+    
+    /**
+     * Everything the dashboard shows, loaded in one background call
+     */
+    private static class DashboardData {
+        private final DashboardMetrics.Snapshot metrics;
+        private final List<Alert> alerts;
+        
+        DashboardData(DashboardMetrics.Snapshot metrics, List<Alert> alerts) {
+            this.metrics = metrics;
+            this.alerts = alerts;
+        }
+    }
+}
\ No newline at end of file
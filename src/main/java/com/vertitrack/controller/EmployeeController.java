@@ -3,18 +3,19 @@ package com.vertitrack.controller;
 import com.vertitrack.model.Employee;
 import com.vertitrack.service.EmployeeService;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
 import java.util.Optional;
 
 @Controller
+@Lazy
 @RequiredArgsConstructor
 @Slf4j
 public class EmployeeController {
@@ -52,8 +53,12 @@ public class EmployeeController {
     @FXML private Button deleteButton;
     @FXML private Button generateCodeButton;
     
-    private ObservableList<Employee> employeesList = FXCollections.observableArrayList();
+    private final KeyedObservableList<Employee> employeesList = new KeyedObservableList<>(Employee::getId, Employee::getUpdatedAt);
     private Employee selectedEmployee = null;
+    private final UiTasks uiTasks = new UiTasks("Employees");
+    private final UiTasks pageTasks = new UiTasks("Employee table");
+    private PagedTableSource<Employee> pagedEmployees;
+    private SearchPipeline<Employee> employeeSearch;
     
     @FXML
     public void initialize() {
@@ -78,7 +83,15 @@ public class EmployeeController {
         contactColumn.setCellValueFactory(new PropertyValueFactory<>("contactNumber"));
         statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
         
-        employeesTable.setItems(employeesList);
+        // The full list is paged from the database; search results are a plain list
+        pagedEmployees = new PagedTableSource<>(pageTasks, employeeService::findEmployeesPage, employeeService::countAllEmployees)
+            .sortable(empCodeColumn, "employeeCode")
+            .sortable(nameColumn, "firstName", "lastName")
+            .sortable(designationColumn, "designation")
+            .sortable(statusColumn, "status")
+            .diffBy(Employee::getId, Employee::getUpdatedAt);
+        pagedEmployees.attach(employeesTable);
+        employeesTable.setItems(pagedEmployees);
         
         employeesTable.getSelectionModel().selectedItemProperty().addListener(
             (observable, oldValue, newValue) -> {
@@ -90,14 +103,22 @@ public class EmployeeController {
     }
     
     private void loadAllEmployees() {
-        try {
-            List<Employee> employees = employeeService.findAllEmployees();
-            employeesList.clear();
-            employeesList.addAll(employees);
-            log.info("Loaded {} employees", employees.size());
-        } catch (Exception e) {
-            log.error("Error loading employees", e);
-            showError("Error loading employees: " + e.getMessage());
+        employeesList.clear();
+        employeesTable.setItems(pagedEmployees);
+        pagedEmployees.refresh();
+    }
+    
+    private void showSearchResults(List<Employee> results) {
+        employeesList.reconcile(results);
+        employeesTable.setItems(employeesList);
+    }
+    
+    /**
+     * Reload after a change: re-run the active search, or show all employees
+     */
+    private void reloadEmployees() {
+        if (!employeeSearch.refresh()) {
+            loadAllEmployees();
         }
     }
     
@@ -107,7 +128,9 @@ public class EmployeeController {
         deleteButton.setOnAction(e -> deleteEmployee());
         generateCodeButton.setOnAction(e -> generateEmployeeCode());
         
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> searchEmployees(newValue));
+        employeeSearch = new SearchPipeline<>(uiTasks, employeeService::searchEmployees, employeeService::findEmployeesByIds,
+            Employee::getId, this::showSearchResults, this::loadAllEmployees);
+        employeeSearch.bind(searchField.textProperty());
     }
     
     @FXML
@@ -153,7 +176,7 @@ public class EmployeeController {
             
             showInfo("Success", "Employee saved successfully!");
             clearForm();
-            loadAllEmployees();
+            reloadEmployees();
             
         } catch (NumberFormatException e) {
             showError("Invalid salary format!");
@@ -248,7 +271,7 @@ public class EmployeeController {
                 employeeService.deleteEmployee(selectedEmployee.getId());
                 showInfo("Success", "Employee deleted successfully!");
                 clearForm();
-                loadAllEmployees();
+                reloadEmployees();
             } catch (Exception e) {
                 log.error("Error deleting employee", e);
                 showError("Error deleting employee: " + e.getMessage());
@@ -256,21 +279,6 @@ public class EmployeeController {
         }
     }
     
-    private void searchEmployees(String keyword) {
-        if (keyword == null || keyword.trim().isEmpty()) {
-            loadAllEmployees();
-            return;
-        }
-        
-        try {
-            List<Employee> results = employeeService.searchEmployees(keyword.trim());
-            employeesList.clear();
-            employeesList.addAll(results);
-        } catch (Exception e) {
-            log.error("Error searching employees", e);
-        }
-    }
-    
     private void showError(String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle("Error");
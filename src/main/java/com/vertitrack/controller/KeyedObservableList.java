@@ -0,0 +1,124 @@
+package com.vertitrack.controller;
+
+import javafx.collections.ModifiableObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keyed Observable List - An observable list refreshed by diffing
+ *
+ * reconcile() compares the latest rows with the current ones by key (entity id):
+ * rows that disappeared are removed, new rows are inserted at their position,
+ * rows whose version changed are replaced in place, and unchanged rows keep
+ * their instance. All of it reaches listeners as one change, so a TableView
+ * keeps its selection and only redraws the rows that actually changed.
+ */
+public class KeyedObservableList<T> extends ModifiableObservableListBase<T> {
+
+    private final List<T> rows = new ArrayList<>();
+    private final Function<T, ?> keyOf;
+    private final Function<T, ?> versionOf;
+
+    /**
+     * @param keyOf     identity of a row, e.g. the entity id
+     * @param versionOf changes whenever the row's content changes, e.g. updatedAt
+     */
+    public KeyedObservableList(Function<T, ?> keyOf, Function<T, ?> versionOf) {
+        this.keyOf = keyOf;
+        this.versionOf = versionOf;
+    }
+
+    /**
+     * Make the list equal to the latest rows with the fewest changes
+     *
+     * @return true if anything changed
+     */
+    public boolean reconcile(Collection<? extends T> rowsToShow) {
+        // First occurrence wins if a key repeats
+        Map<Object, T> latestByKey = new LinkedHashMap<>();
+        for (T row : rowsToShow) {
+            latestByKey.putIfAbsent(keyOf.apply(row), row);
+        }
+        Collection<T> latest = latestByKey.values();
+
+        boolean changed = false;
+        beginChange();
+        try {
+            // Removals first, from the end so indices stay valid
+            Set<Object> present = new HashSet<>();
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                Object key = keyOf.apply(rows.get(i));
+                if (!latestByKey.containsKey(key) || !present.add(key)) {
+                    remove(i);
+                    changed = true;
+                }
+            }
+
+            // Walk the latest order: keep, replace, move or insert
+            int index = 0;
+            for (T row : latest) {
+                Object key = keyOf.apply(row);
+                if (index < rows.size() && Objects.equals(keyOf.apply(rows.get(index)), key)) {
+                    if (!Objects.equals(versionOf.apply(rows.get(index)), versionOf.apply(row))) {
+                        set(index, row);
+                        changed = true;
+                    }
+                } else if (present.contains(key)) {
+                    // Moved: the old position is further down the list
+                    remove(indexOfKey(key, index + 1));
+                    add(index, row);
+                    changed = true;
+                } else {
+                    add(index, row);
+                    present.add(key);
+                    changed = true;
+                }
+                index++;
+            }
+        } finally {
+            endChange();
+        }
+        return changed;
+    }
+
+    @Override
+    public T get(int index) {
+        return rows.get(index);
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    @Override
+    protected void doAdd(int index, T element) {
+        rows.add(index, element);
+    }
+
+    @Override
+    protected T doSet(int index, T element) {
+        return rows.set(index, element);
+    }
+
+    @Override
+    protected T doRemove(int index) {
+        return rows.remove(index);
+    }
+
+    // Helper methods
+    private int indexOfKey(Object key, int from) {
+        for (int i = from; i < rows.size(); i++) {
+            if (Objects.equals(keyOf.apply(rows.get(i)), key)) return i;
+        }
+        throw new IllegalStateException("Row " + key + " not found");
+    }
+}
@@ -1,14 +1,16 @@
 package com.vertitrack.controller;
 
+import com.vertitrack.config.ViewLifecycle;
 import com.vertitrack.model.Lift;
 import com.vertitrack.service.LiftService;
+import javafx.beans.InvalidationListener;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Controller;
 
 import java.time.LocalDate;
@@ -16,9 +18,10 @@ import java.util.List;
 import java.util.Optional;
 
 @Controller
+@Lazy
 @RequiredArgsConstructor
 @Slf4j
-public class LiftController {
+public class LiftController implements ViewLifecycle {
     
     private final LiftService liftService;
     
@@ -69,19 +72,62 @@ public class LiftController {
     
     @FXML private TextField searchField;
     
-    private ObservableList<Lift> liftsList = FXCollections.observableArrayList();
+    private final KeyedObservableList<Lift> liftsList = new KeyedObservableList<>(Lift::getId, Lift::getUpdatedAt);
     private Lift selectedLift = null;
+    private final UiTasks uiTasks = new UiTasks("Lifts");
+    private final UiTasks pageTasks = new UiTasks("Lift table");
+    private PagedTableSource<Lift> pagedLifts;
+    private SearchPipeline<Lift> liftSearch;
+    private InvalidationListener updatePlaceholder;
     
+    /**
+     * Runs once per built view; rows are loaded in onShow()
+     */
     @FXML
     public void initialize() {
         log.info("Initializing Lift Controller");
         
         setupStatusComboBox();
         setupTable();
-        loadAllLifts();
+        setupLoadingState();
         setupEventHandlers();
     }
     
+    @Override
+    public void onShow() {
+        // Soft refresh: cached pages stay on screen and only changed rows redraw
+        reloadLifts();
+    }
+    
+    @Override
+    public void onHide() {
+        clearForm();
+    }
+    
+    @Override
+    public void dispose() {
+        // The task runners outlive the view; drop the listeners that reference its nodes
+        uiTasks.busyProperty().removeListener(updatePlaceholder);
+        pageTasks.busyProperty().removeListener(updatePlaceholder);
+        saveButton.disableProperty().unbind();
+        deleteButton.disableProperty().unbind();
+        liftSearch.dispose();
+    }
+    
+    private void setupLoadingState() {
+        Label emptyPlaceholder = new Label("No lifts found");
+        Label loadingPlaceholder = new Label("Loading...");
+        liftsTable.setPlaceholder(loadingPlaceholder);
+        updatePlaceholder = observable -> liftsTable.setPlaceholder(
+            uiTasks.isBusy() || pageTasks.isBusy() ? loadingPlaceholder : emptyPlaceholder);
+        uiTasks.busyProperty().addListener(updatePlaceholder);
+        pageTasks.busyProperty().addListener(updatePlaceholder);
+        
+        // No second save or delete while one is in flight
+        saveButton.disableProperty().bind(uiTasks.busyProperty());
+        deleteButton.disableProperty().bind(uiTasks.busyProperty());
+    }
+    
     private void setupStatusComboBox() {
         statusComboBox.setItems(FXCollections.observableArrayList(Lift.LiftStatus.values()));
         statusComboBox.setValue(Lift.LiftStatus.ACTIVE);
@@ -94,7 +140,16 @@ public class LiftController {
         amcEndDateColumn.setCellValueFactory(new PropertyValueFactory<>("amcEndDate"));
         statusColumn.setCellValueFactory(new PropertyValueFactory<>("status"));
         
-        liftsTable.setItems(liftsList);
+        // The full list is paged from the database; search results are a plain list
+        pagedLifts = new PagedTableSource<>(pageTasks, liftService::findLiftsPage, liftService::countAllLifts)
+            .sortable(liftNumberColumn, "liftNumber")
+            .sortable(locationColumn, "location")
+            .sortable(buildingColumn, "building")
+            .sortable(amcEndDateColumn, "amcEndDate")
+            .sortable(statusColumn, "status")
+            .diffBy(Lift::getId, Lift::getUpdatedAt);
+        pagedLifts.attach(liftsTable);
+        liftsTable.setItems(pagedLifts);
         
         // Row selection handler
         liftsTable.getSelectionModel().selectedItemProperty().addListener(
@@ -107,15 +162,9 @@ public class LiftController {
     }
     
     private void loadAllLifts() {
-        try {
-            List<Lift> lifts = liftService.findAllLifts();
-            liftsList.clear();
-            liftsList.addAll(lifts);
-            log.info("Loaded {} lifts", lifts.size());
-        } catch (Exception e) {
-            log.error("Error loading lifts", e);
-            showError("Error loading lifts: " + e.getMessage());
-        }
+        liftsList.clear();
+        liftsTable.setItems(pagedLifts);
+        pagedLifts.refresh();
     }
     
     private void setupEventHandlers() {
@@ -123,7 +172,9 @@ public class LiftController {
         clearButton.setOnAction(e -> clearForm());
         deleteButton.setOnAction(e -> deleteLift());
         
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> searchLifts(newValue));
+        liftSearch = new SearchPipeline<>(uiTasks, liftService::searchLifts, liftService::findLiftsByIds,
+            Lift::getId, this::showSearchResults, this::loadAllLifts);
+        liftSearch.bind(searchField.textProperty());
     }
     
     @FXML
@@ -185,18 +236,15 @@ public class LiftController {
             lift.setStatus(statusComboBox.getValue());
             lift.setNotes(notesArea.getText().trim());
             
-            // Save
-            liftService.saveLift(lift);
-            
-            showInfo("Success", "Lift saved successfully!");
-            clearForm();
-            loadAllLifts();
+            // Save in the background; the form stays as entered if it fails
+            uiTasks.execute("Saving lift", () -> liftService.saveLift(lift), () -> {
+                showInfo("Success", "Lift saved successfully!");
+                clearForm();
+                reloadLifts();
+            }, error -> showError("Error saving lift: " + error.getMessage()));
             
         } catch (NumberFormatException e) {
             showError("Invalid number format. Please check capacity, floors, and amount fields.");
-        } catch (Exception e) {
-            log.error("Error saving lift", e);
-            showError("Error saving lift: " + e.getMessage());
         }
     }
     
@@ -304,30 +352,26 @@ public class LiftController {
         
         Optional<ButtonType> result = confirmAlert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            try {
-                liftService.deleteLift(selectedLift.getId());
+            Long liftId = selectedLift.getId();
+            uiTasks.execute("Deleting lift", () -> liftService.deleteLift(liftId), () -> {
                 showInfo("Success", "Lift deleted successfully!");
                 clearForm();
-                loadAllLifts();
-            } catch (Exception e) {
-                log.error("Error deleting lift", e);
-                showError("Error deleting lift: " + e.getMessage());
-            }
+                reloadLifts();
+            }, error -> showError("Error deleting lift: " + error.getMessage()));
         }
     }
     
-    private void searchLifts(String keyword) {
-        if (keyword == null || keyword.trim().isEmpty()) {
+    private void showSearchResults(List<Lift> results) {
+        liftsList.reconcile(results);
+        liftsTable.setItems(liftsList);
+    }
+    
+    /**
+     * Reload after a change: re-run the active search, or show all lifts
+     */
+    private void reloadLifts() {
+        if (!liftSearch.refresh()) {
             loadAllLifts();
-            return;
-        }
-        
-        try {
-            List<Lift> results = liftService.searchLifts(keyword.trim());
-            liftsList.clear();
-            liftsList.addAll(results);
-        } catch (Exception e) {
-            log.error("Error searching lifts", e);
         }
     }
     
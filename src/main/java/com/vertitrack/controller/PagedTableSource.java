@@ -0,0 +1,300 @@
+package com.vertitrack.controller;
+
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Paged Table Source - Server-paged items list for a TableView
+ *
+ * The list reports the full row count but holds only a few pages. TableView
+ * asks for rows as they scroll into view; a missing page is fetched in the
+ * background (with its neighbour as prefetch) and shows as empty rows until it
+ * arrives. Least recently used pages are evicted beyond MAX_CACHED_PAGES, so
+ * heap use does not grow with the table. A page next to a cached one is read by
+ * seeking past the neighbour's edge row instead of skipping an offset, so
+ * scrolling costs the same at any depth. Column sorting is pushed down to the
+ * query as a Sort on indexed properties; other columns are made unsortable.
+ * With diffBy() a refresh keeps the cached pages on screen, reloads them and
+ * only signals rows whose key or version changed. FX thread only.
+ */
+@Slf4j
+public class PagedTableSource<T> extends ObservableListBase<T> {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 12;
+    private static final Sort DEFAULT_SORT = Sort.by("id");
+
+    /**
+     * Loads one page of rows in the given order; runs in the background
+     * At most one of after (last row of the previous page) and before (first
+     * row of the next page) is set; with neither the page is a jump.
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        List<T> loadPage(int page, int pageSize, Sort sort, T after, T before);
+    }
+
+    private final UiTasks uiTasks;
+    private final PageLoader<T> loader;
+    private final Callable<Long> counter;
+    private final int pageSize;
+    private final Map<TableColumn<T, ?>, String[]> sortProperties = new HashMap<>();
+    private final Set<Integer> pendingPages = new HashSet<>();
+    private final Map<Integer, List<T>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    private Function<T, ?> keyOf;
+    private Function<T, ?> versionOf;
+    private int size;
+    private int generation;
+    private Sort sort = DEFAULT_SORT;
+
+    public PagedTableSource(UiTasks uiTasks, PageLoader<T> loader, Callable<Long> counter) {
+        this(uiTasks, loader, counter, DEFAULT_PAGE_SIZE);
+    }
+
+    public PagedTableSource(UiTasks uiTasks, PageLoader<T> loader, Callable<Long> counter, int pageSize) {
+        this.uiTasks = uiTasks;
+        this.loader = loader;
+        this.counter = counter;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Allow sorting by a column, ordered by the given indexed entity properties
+     */
+    public PagedTableSource<T> sortable(TableColumn<T, ?> column, String... properties) {
+        sortProperties.put(column, properties);
+        return this;
+    }
+
+    /**
+     * Identify rows by key and version so refreshes only redraw changed rows
+     */
+    public PagedTableSource<T> diffBy(Function<T, ?> keyOf, Function<T, ?> versionOf) {
+        this.keyOf = keyOf;
+        this.versionOf = versionOf;
+        return this;
+    }
+    
+    /**
+     * Install this source's sort policy on the table
+     * While the table shows some other list (e.g. search results) the default
+     * in-memory sort applies.
+     */
+    public void attach(TableView<T> table) {
+        for (TableColumn<T, ?> column : table.getColumns()) {
+            column.setSortable(sortProperties.containsKey(column));
+        }
+        table.setSortPolicy(t -> {
+            if (t.getItems() != this) {
+                return TableView.DEFAULT_SORT_POLICY.call(t);
+            }
+            Sort requested = toSort(t.getSortOrder());
+            if (!requested.equals(sort)) {
+                sort = requested;
+                reload(false);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Reload the row count and the pages in view
+     */
+    public void refresh() {
+        reload(keyOf != null);
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public int getCachedRowCount() {
+        int rows = 0;
+        for (List<T> page : pages.values()) {
+            rows += page.size();
+        }
+        return rows;
+    }
+
+    /**
+     * Row at the index, or null while its page is loading
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+        }
+        int page = index / pageSize;
+        int offset = index % pageSize;
+        List<T> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            requestPage(offset < pageSize / 2 ? page - 1 : page + 1);
+            return null;
+        }
+
+        // Prefetch the neighbouring page once the view nears a page edge
+        if (offset >= pageSize * 3 / 4) {
+            requestPage(page + 1);
+        } else if (offset < pageSize / 4) {
+            requestPage(page - 1);
+        }
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Helper methods
+    private void reload(boolean keepPages) {
+        generation++;
+        pendingPages.clear();
+        List<Integer> stalePages = keepPages ? new ArrayList<>(pages.keySet()) : List.of();
+        if (!keepPages) {
+            pages.clear();
+        }
+
+        int requestGeneration = generation;
+        uiTasks.load("Counting rows", counter, count -> {
+            if (requestGeneration != generation) return;
+            int newSize = (int) Math.min(count, Integer.MAX_VALUE);
+            if (keepPages) {
+                resizeTail(newSize);
+                // Neighbours are stale too, so these reload without seeking from them
+                for (Integer page : stalePages) {
+                    loadPage(page, false);
+                }
+            } else {
+                resize(newSize);
+            }
+        });
+    }
+
+    private void requestPage(int page) {
+        if (pages.containsKey(page)) return;
+        loadPage(page, true);
+    }
+
+    private void loadPage(int page, boolean seek) {
+        if (page < 0 || page * pageSize >= size) return;
+        if (!pendingPages.add(page)) return;
+
+        T after = null;
+        T before = null;
+        if (seek) {
+            List<T> previous = pages.get(page - 1);
+            List<T> next = pages.get(page + 1);
+            if (previous != null && previous.size() == pageSize) {
+                after = previous.get(pageSize - 1);
+            } else if (next != null && !next.isEmpty()) {
+                before = next.get(0);
+            }
+        }
+
+        int requestGeneration = generation;
+        Sort requestSort = sort;
+        T seekAfter = after;
+        T seekBefore = before;
+        uiTasks.load("Loading page " + page, () -> loader.loadPage(page, pageSize, requestSort, seekAfter, seekBefore), rows -> {
+            if (requestGeneration != generation) return;
+            pendingPages.remove(page);
+            List<T> previous = pages.put(page, new ArrayList<>(rows));
+            pageLoaded(page, previous);
+        }, error -> {
+            if (requestGeneration == generation) {
+                pendingPages.remove(page);
+            }
+        });
+    }
+
+    private void pageLoaded(int page, List<T> previous) {
+        List<T> rows = pages.get(page);
+        int from = page * pageSize;
+        int to = Math.min(from + pageSize, size);
+        beginChange();
+        for (int i = from; i < to; i++) {
+            int offset = i - from;
+            T before = previous != null && offset < previous.size() ? previous.get(offset) : null;
+            T after = offset < rows.size() ? rows.get(offset) : null;
+            if (before == null && after == null) continue;
+            if (before == null || after == null || changed(before, after)) {
+                nextSet(i, before);
+            }
+        }
+        endChange();
+    }
+
+    private boolean changed(T before, T after) {
+        if (keyOf == null) return true;
+        return !Objects.equals(keyOf.apply(before), keyOf.apply(after))
+            || !Objects.equals(versionOf.apply(before), versionOf.apply(after));
+    }
+
+    private void resizeTail(int newSize) {
+        int oldSize = size;
+        if (newSize == oldSize) return;
+        size = newSize;
+        // Pages past the new end are stale
+        pages.keySet().removeIf(page -> page * pageSize >= newSize);
+        beginChange();
+        if (newSize > oldSize) {
+            nextAdd(oldSize, newSize);
+        } else {
+            nextRemove(newSize, Collections.nCopies(oldSize - newSize, (T) null));
+        }
+        endChange();
+    }
+
+    private void resize(int newSize) {
+        int oldSize = size;
+        size = newSize;
+        beginChange();
+        if (oldSize > 0) {
+            nextRemove(0, Collections.nCopies(oldSize, (T) null));
+        }
+        if (newSize > 0) {
+            nextAdd(0, newSize);
+        }
+        endChange();
+        log.debug("Paged source now has {} rows sorted by {}", newSize, sort);
+    }
+
+    private Sort toSort(List<TableColumn<T, ?>> sortOrder) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (TableColumn<T, ?> column : sortOrder) {
+            String[] properties = sortProperties.get(column);
+            if (properties == null) continue;
+            Sort.Direction direction = column.getSortType() == TableColumn.SortType.DESCENDING
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+            for (String property : properties) {
+                orders.add(new Sort.Order(direction, property));
+            }
+        }
+        // Id as the final key keeps page boundaries stable when values repeat
+        orders.add(Sort.Order.asc("id"));
+        return Sort.by(orders);
+    }
+}
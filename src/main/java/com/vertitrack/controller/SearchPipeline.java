@@ -0,0 +1,172 @@
+package com.vertitrack.controller;
+
+import com.vertitrack.service.KeysetPaging;
+import javafx.animation.PauseTransition;
+import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Task;
+import javafx.util.Duration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Search Pipeline - Search-as-you-type for a text field
+ *
+ * Keystrokes are debounced; when typing pauses the keyword is searched in the
+ * background through UiTasks. Starting a new search cancels the one in flight,
+ * and a result is only applied if its keyword is still the current one.
+ * Recent keywords are kept in an LRU cache of matching ids, so repeating a
+ * search reloads rows by primary key instead of re-running the LIKE scan.
+ * Call invalidate() after saves and deletes. FX thread only.
+ */
+@Slf4j
+public class SearchPipeline<T> {
+
+    public static final Duration DEFAULT_DEBOUNCE = Duration.millis(200);
+    public static final int DEFAULT_MIN_LENGTH = 2;
+    private static final int CACHE_SIZE = 64;
+
+    private final UiTasks uiTasks;
+    private final Function<String, List<T>> search;
+    private final Function<List<Long>, List<T>> loadByIds;
+    private final Function<T, Long> idOf;
+    private final Consumer<List<T>> onResults;
+    private final Runnable onCleared;
+    private final int minLength;
+    private final PauseTransition debounce;
+    private final Map<String, List<Long>> recentResults = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<Long>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private String currentKeyword = "";
+    private Task<?> inFlight;
+
+    /**
+     * @param search    keyword search, run in the background
+     * @param loadByIds primary key lookup for cached keywords, run in the background
+     * @param onResults applies results to the view on the FX thread
+     * @param onCleared called when the field is emptied
+     */
+    public SearchPipeline(UiTasks uiTasks, Function<String, List<T>> search, Function<List<Long>, List<T>> loadByIds,
+                          Function<T, Long> idOf, Consumer<List<T>> onResults, Runnable onCleared) {
+        this(uiTasks, search, loadByIds, idOf, onResults, onCleared, DEFAULT_DEBOUNCE, DEFAULT_MIN_LENGTH);
+    }
+
+    public SearchPipeline(UiTasks uiTasks, Function<String, List<T>> search, Function<List<Long>, List<T>> loadByIds,
+                          Function<T, Long> idOf, Consumer<List<T>> onResults, Runnable onCleared,
+                          Duration debounceDelay, int minLength) {
+        this.uiTasks = uiTasks;
+        this.search = search;
+        this.loadByIds = loadByIds;
+        this.idOf = idOf;
+        this.onResults = onResults;
+        this.onCleared = onCleared;
+        this.minLength = minLength;
+        this.debounce = new PauseTransition(debounceDelay);
+        this.debounce.setOnFinished(e -> runSearch());
+    }
+
+    /**
+     * Feed the pipeline from a text property
+     */
+    public void bind(ObservableValue<String> text) {
+        text.addListener((observable, oldValue, newValue) -> keywordChanged(newValue));
+    }
+
+    public void keywordChanged(String text) {
+        String keyword = text != null ? text.trim() : "";
+        if (keyword.equals(currentKeyword)) return;
+        currentKeyword = keyword;
+        cancelInFlight();
+
+        if (keyword.isEmpty()) {
+            debounce.stop();
+            onCleared.run();
+            return;
+        }
+        if (keyword.length() < minLength) {
+            // Too broad to be worth a scan; keep showing what is there
+            debounce.stop();
+            return;
+        }
+        debounce.playFromStart();
+    }
+
+    /**
+     * Drop cached results, e.g. after rows were saved or deleted
+     */
+    public void invalidate() {
+        recentResults.clear();
+    }
+
+    /**
+     * Re-run the current keyword now, bypassing the cache
+     * Returns false if there is no keyword to search.
+     */
+    public boolean refresh() {
+        invalidate();
+        if (currentKeyword.length() < minLength) return false;
+        debounce.stop();
+        runSearch();
+        return true;
+    }
+
+    /**
+     * Stop any pending or running search; the pipeline must not be used afterwards
+     */
+    public void dispose() {
+        debounce.stop();
+        debounce.setOnFinished(null);
+        cancelInFlight();
+        recentResults.clear();
+    }
+
+    // Helper methods
+    private void runSearch() {
+        String keyword = currentKeyword;
+        String cacheKey = keyword.toLowerCase();
+        cancelInFlight();
+
+        List<Long> cachedIds = recentResults.get(cacheKey);
+        if (cachedIds != null) {
+            inFlight = uiTasks.load("Reloading results for '" + keyword + "'",
+                () -> KeysetPaging.inIdOrder(cachedIds, loadByIds.apply(cachedIds), idOf),
+                results -> apply(keyword, results));
+            return;
+        }
+
+        inFlight = uiTasks.load("Searching '" + keyword + "'", () -> search.apply(keyword), results -> {
+            List<Long> ids = new ArrayList<>(results.size());
+            for (T row : results) {
+                ids.add(idOf.apply(row));
+            }
+            recentResults.put(cacheKey, ids);
+            apply(keyword, results);
+        });
+    }
+
+    private void apply(String keyword, List<T> results) {
+        // A cancelled task never calls back, but guard against a keyword change in the same pulse
+        if (!keyword.equals(currentKeyword)) {
+            log.debug("Discarding stale results for '{}'", keyword);
+            return;
+        }
+        onResults.accept(results);
+    }
+
+    private void cancelInFlight() {
+        if (inFlight != null) {
+            // No interrupt: a running JDBC call finishes on its own and its result is dropped
+            inFlight.cancel(false);
+            inFlight = null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.vertitrack.controller;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * UI Tasks - Runs service calls off the JavaFX application thread
+ *
+ * Work runs on a shared pool of daemon threads; the success or failure
+ * callback runs afterwards on the FX thread in a single pulse, so a screen
+ * should load everything it needs in one call and apply it in one callback.
+ * Each controller owns an instance whose busy property is true while any of
+ * its tasks are in flight, for loading indicators and disabling buttons.
+ * Must be called from the FX thread.
+ */
+@Slf4j
+public class UiTasks {
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "ui-task-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Background work that returns nothing
+     */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private final String owner;
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(false);
+    private int running;
+
+    public UiTasks(String owner) {
+        this.owner = owner;
+    }
+
+    public ReadOnlyBooleanProperty busyProperty() {
+        return busy.getReadOnlyProperty();
+    }
+
+    public boolean isBusy() {
+        return busy.get();
+    }
+
+    /**
+     * Load a value in the background and hand it to onSuccess on the FX thread
+     * Failures are logged.
+     */
+    public <T> Task<T> load(String description, Callable<T> work, Consumer<T> onSuccess) {
+        return load(description, work, onSuccess, error -> { });
+    }
+
+    /**
+     * Load a value in the background; exactly one of the callbacks runs on the
+     * FX thread unless the returned task is cancelled first
+     */
+    public <T> Task<T> load(String description, Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            finished();
+            onSuccess.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            finished();
+            log.error("{}: {} failed", owner, description, task.getException());
+            onFailure.accept(task.getException());
+        });
+        task.setOnCancelled(e -> finished());
+
+        started();
+        EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Run an action in the background, then onSuccess on the FX thread
+     */
+    public Task<Void> execute(String description, Action work, Runnable onSuccess, Consumer<Throwable> onFailure) {
+        return load(description, () -> {
+            work.run();
+            return null;
+        }, result -> onSuccess.run(), onFailure);
+    }
+
+    // Helper methods
+    private void started() {
+        checkFxThread();
+        running++;
+        busy.set(true);
+    }
+
+    private void finished() {
+        running--;
+        busy.set(running > 0);
+    }
+
+    private void checkFxThread() {
+        if (!Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("UiTasks must be used from the JavaFX application thread");
+        }
+    }
+}
@@ -65,6 +65,10 @@ public class Alert {
     
     private LocalDateTime updatedAt = LocalDateTime.now();
     
+    @Version
+    @Column(nullable = false)
+    private long version;
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -10,8 +10,10 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 @Entity
+@EntityListeners(TombstoneListener.class)
 @Table(name = "attendance", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "attendance_date"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "attendance_date"}),
+       indexes = @Index(name = "idx_attendance_updated_at", columnList = "updated_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,8 +23,9 @@ public class Attendance {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // No database FK: attendance is range-partitioned by month, which MySQL does not allow with FKs
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "employee_id", nullable = false)
+    @JoinColumn(name = "employee_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Employee employee;
     
     @Column(name = "attendance_date", nullable = false)
@@ -53,6 +56,10 @@ public class Attendance {
     
     private LocalDateTime updatedAt = LocalDateTime.now();
     
+    @Version
+    @Column(nullable = false)
+    private long version;
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,25 @@
+package com.vertitrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counter row of a named code sequence (employee codes, ...)
+ * next_value is the first number not yet reserved by any instance.
+ */
+@Entity
+@Table(name = "code_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CodeSequence {
+    
+    @Id
+    @Column(name = "sequence_name", length = 50)
+    private String sequenceName;
+    
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,33 @@
+package com.vertitrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted row, captured at delete time for delta exports
+ */
+@Entity
+@Table(name = "deletion_tombstones",
+       indexes = @Index(name = "idx_tombstone_deleted_at", columnList = "deleted_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletionTombstone {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, length = 50)
+    private String entityType; // Lift, Employee, Expense, ServiceRecord, Attendance
+    
+    @Column(nullable = false)
+    private Long entityId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt = LocalDateTime.now();
+}
@@ -6,11 +6,20 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "employees")
+@EntityListeners(TombstoneListener.class)
+@Table(name = "employees",
+       indexes = {
+           @Index(name = "idx_employees_updated_at", columnList = "updated_at"),
+           // Sortable columns of the paged employee table
+           @Index(name = "idx_employees_name", columnList = "first_name, last_name"),
+           @Index(name = "idx_employees_designation", columnList = "designation"),
+           @Index(name = "idx_employees_status", columnList = "status")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -74,13 +83,17 @@ public class Employee {
     
     // Audit fields
     @Column(updatable = false)
-    private LocalDate createdAt = LocalDate.now();
+    private LocalDateTime createdAt = LocalDateTime.now();
     
-    private LocalDate updatedAt = LocalDate.now();
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    
+    @Version
+    @Column(nullable = false)
+    private long version;
     
     @PreUpdate
     public void preUpdate() {
-        this.updatedAt = LocalDate.now();
+        this.updatedAt = LocalDateTime.now();
     }
     
     // Helper method to get full name
@@ -9,7 +9,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "expenses")
+@EntityListeners(TombstoneListener.class)
+@Table(name = "expenses",
+       indexes = @Index(name = "idx_expenses_updated_at", columnList = "updated_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -74,6 +76,10 @@ public class Expense {
     
     private LocalDateTime updatedAt = LocalDateTime.now();
     
+    @Version
+    @Column(nullable = false)
+    private long version;
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,34 @@
+package com.vertitrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last exported point in time for a named delta export
+ */
+@Entity
+@Table(name = "export_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportWatermark {
+    
+    @Id
+    @Column(length = 100)
+    private String exportName;
+    
+    @Column(nullable = false)
+    private LocalDateTime watermark;
+    
+    private LocalDateTime lastRunAt;
+    
+    private Long lastRowCount;
+    
+    @Version
+    @Column(nullable = false)
+    private long version;
+}
@@ -6,11 +6,22 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "lifts")
+@EntityListeners(TombstoneListener.class)
+@Table(name = "lifts",
+       indexes = {
+           @Index(name = "idx_lifts_updated_at", columnList = "updated_at"),
+           // Sortable columns of the paged lift table
+           @Index(name = "idx_lifts_lift_number", columnList = "lift_number"),
+           @Index(name = "idx_lifts_location", columnList = "location"),
+           @Index(name = "idx_lifts_building", columnList = "building"),
+           @Index(name = "idx_lifts_amc_end_date", columnList = "amc_end_date"),
+           @Index(name = "idx_lifts_status", columnList = "status")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -81,13 +92,17 @@ public class Lift {
     
     // Audit fields
     @Column(updatable = false)
-    private LocalDate createdAt = LocalDate.now();
+    private LocalDateTime createdAt = LocalDateTime.now();
     
-    private LocalDate updatedAt = LocalDate.now();
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    
+    @Version
+    @Column(nullable = false)
+    private long version;
     
     @PreUpdate
     public void preUpdate() {
-        this.updatedAt = LocalDate.now();
+        this.updatedAt = LocalDateTime.now();
     }
     
     public enum LiftStatus {
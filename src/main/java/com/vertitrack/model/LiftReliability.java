@@ -0,0 +1,65 @@
+package com.vertitrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Running failure aggregates of one lift
+ * A failure is a BREAKDOWN_REPAIR or AMC_REPAIR service record that is not
+ * cancelled. Kept current on every service record save and delete, so
+ * reliability rankings read one row per lift instead of the service history.
+ */
+@Entity
+@Table(name = "lift_reliability")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiftReliability {
+    
+    @Id
+    @Column(name = "lift_id")
+    private Long liftId;
+    
+    @Column(nullable = false)
+    private Integer failureCount = 0;
+    
+    private LocalDate firstFailureDate;
+    
+    private LocalDate lastFailureDate;
+    
+    // Over the gaps between consecutive failures, in days
+    @Column(nullable = false)
+    private Long intervalSumDays = 0L;
+    
+    @Column(nullable = false)
+    private Double intervalSumSquares = 0.0;
+    
+    // Rolling windows ending on windowDate
+    @Column(nullable = false)
+    private Integer failuresLast90Days = 0;
+    
+    @Column(nullable = false)
+    private Integer failuresLast365Days = 0;
+    
+    private LocalDate windowDate;
+    
+    // Failures per day of the last 365 days, indexed by epoch day mod 365
+    @Column(length = 365)
+    private byte[] dailyFailures = new byte[365];
+    
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    
+    @Version
+    @Column(nullable = false)
+    private long version;
+    
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
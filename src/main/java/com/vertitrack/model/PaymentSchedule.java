@@ -0,0 +1,71 @@
+package com.vertitrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One AMC installment of a lift, due on a date
+ * Kept in sync with the lift's quarter payment dates; reminder and forecast
+ * queries range-scan (due_date, status) instead of OR-ing four lift columns.
+ */
+@Entity
+@Table(name = "payment_schedule",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payment_schedule_lift_due", columnNames = {"lift_id", "due_date"}),
+       indexes = @Index(name = "idx_payment_schedule_due_status", columnList = "due_date, status"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentSchedule {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lift_id", nullable = false)
+    private Lift lift;
+    
+    @Column(nullable = false)
+    private Integer installment; // Quarter 1-4
+    
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+    
+    private Double amount;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private InstallmentStatus status = InstallmentStatus.DUE;
+    
+    // The expense that paid this installment
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "expense_id")
+    private Expense expense;
+    
+    private LocalDateTime paidAt;
+    
+    // Audit fields
+    @Column(updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    
+    @Version
+    @Column(nullable = false)
+    private long version;
+    
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // UNKNOWN: a past date migrated from the old quarter columns, which never recorded payment
+    public enum InstallmentStatus {
+        DUE, PAID, CANCELLED, UNKNOWN
+    }
+}
@@ -0,0 +1,55 @@
+package com.vertitrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One employee's pay in a payroll run
+ * Code, name and salary are copied so the snapshot does not change when the
+ * employee is edited later.
+ */
+@Entity
+@Table(name = "payroll_lines",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payroll_lines_run_employee", columnNames = {"payroll_run_id", "employee_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollLine {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payroll_run_id", nullable = false)
+    private PayrollRun payrollRun;
+    
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+    
+    private String employeeCode;
+    
+    private String employeeName;
+    
+    private Double salary;
+    
+    // Paid days out of the month's working days; half days count 0.5
+    private Double payableDays;
+    
+    private Integer absentDays;
+    
+    private Integer unpaidLeaveDays;
+    
+    private Double overtimeHours;
+    
+    private Double basePay;
+    
+    private Double overtimePay;
+    
+    // EMPLOYEE_PETROL and EMPLOYEE_OTHER expenses of the month
+    private Double reimbursements;
+    
+    private Double netPay;
+}
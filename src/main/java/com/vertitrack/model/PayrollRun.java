@@ -0,0 +1,52 @@
+package com.vertitrack.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Month-end payroll snapshot with roster totals
+ * One run per month; re-running a month replaces it. The per-employee
+ * figures are in payroll_lines.
+ */
+@Entity
+@Table(name = "payroll_runs",
+       uniqueConstraints = @UniqueConstraint(name = "uk_payroll_runs_month", columnNames = {"payroll_year", "payroll_month"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollRun {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "payroll_year", nullable = false)
+    private Integer payrollYear;
+    
+    @Column(name = "payroll_month", nullable = false)
+    private Integer payrollMonth;
+    
+    @Column(nullable = false)
+    private Integer workingDays;
+    
+    @Column(nullable = false)
+    private Integer employeeCount;
+    
+    private Double totalBasePay;
+    
+    private Double totalOvertimePay;
+    
+    private Double totalReimbursements;
+    
+    private Double totalNetPay;
+    
+    // Time taken to load and compute the run
+    private Long elapsedMillis;
+    
+    @Column(updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
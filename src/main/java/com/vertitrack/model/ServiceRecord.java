@@ -9,7 +9,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "service_records")
+@EntityListeners(TombstoneListener.class)
+@Table(name = "service_records",
+       indexes = {
+           @Index(name = "idx_service_records_updated_at", columnList = "updated_at"),
+           // Neighbouring failure lookups of the reliability stats
+           @Index(name = "idx_service_records_lift_type_date", columnList = "lift_id, service_type, service_date")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -66,6 +72,10 @@ public class ServiceRecord {
     
     private LocalDateTime updatedAt = LocalDateTime.now();
     
+    @Version
+    @Column(nullable = false)
+    private long version;
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,43 @@
+package com.vertitrack.model;
+
+import jakarta.persistence.PreRemove;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Entity listener that records a DeletionTombstone for every removed row,
+ * so delta exports can tell downstream systems what disappeared.
+ * Runs inside the deleting transaction; cascaded child deletes are captured too.
+ */
+@Component
+@RequiredArgsConstructor
+public class TombstoneListener {
+    
+    private static final String INSERT_TOMBSTONE =
+        "INSERT INTO deletion_tombstones (entity_type, entity_id, deleted_at) VALUES (?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @PreRemove
+    public void recordDeletion(Object entity) {
+        Long id = idOf(entity);
+        if (id == null) return;
+        // Plain JDBC so the insert does not re-enter the flush that is removing the entity
+        jdbcTemplate.update(INSERT_TOMBSTONE,
+            Hibernate.getClass(entity).getSimpleName(), id, Timestamp.valueOf(LocalDateTime.now()));
+    }
+    
+    private Long idOf(Object entity) {
+        if (entity instanceof Lift lift) return lift.getId();
+        if (entity instanceof Employee employee) return employee.getId();
+        if (entity instanceof Expense expense) return expense.getId();
+        if (entity instanceof ServiceRecord record) return record.getId();
+        if (entity instanceof Attendance attendance) return attendance.getId();
+        return null;
+    }
+}
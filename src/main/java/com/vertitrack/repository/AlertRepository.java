@@ -2,11 +2,13 @@ package com.vertitrack.repository;
 
 import com.vertitrack.model.Alert;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -56,4 +58,26 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
     // Delete old dismissed alerts (cleanup)
     @Query("SELECT a FROM Alert a WHERE a.isActive = false AND a.dismissedAt < :beforeDate")
     List<Alert> findOldDismissedAlerts(@Param("beforeDate") java.time.LocalDateTime beforeDate);
+    
+    // Mark read if unread and unchanged since the caller's version; 1 if this call won
+    @Modifying
+    @Query("UPDATE Alert a SET a.isRead = true, a.readAt = :now, a.updatedAt = :now, a.version = a.version + 1 " +
+           "WHERE a.id = :id AND a.version = :version AND (a.isRead = false OR a.isRead IS NULL)")
+    int markReadIfUnchanged(@Param("id") Long id, 
+                            @Param("version") long version, 
+                            @Param("now") LocalDateTime now);
+    
+    // Dismiss if active and unchanged since the caller's version; 1 if this call won
+    @Modifying
+    @Query("UPDATE Alert a SET a.isActive = false, a.dismissedAt = :now, a.actionTaken = :action, a.updatedAt = :now, " +
+           "a.version = a.version + 1 " +
+           "WHERE a.id = :id AND a.version = :version AND (a.isActive = true OR a.isActive IS NULL)")
+    int dismissIfUnchanged(@Param("id") Long id, 
+                           @Param("version") long version, 
+                           @Param("action") String action, 
+                           @Param("now") LocalDateTime now);
+    
+    // Version, isRead and isActive of an alert after a missed transition
+    @Query("SELECT a.version, a.isRead, a.isActive FROM Alert a WHERE a.id = :id")
+    List<Object[]> findTransitionState(@Param("id") Long id);
 }
@@ -8,6 +8,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,53 +39,74 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
                                                                @Param("startDate") LocalDate startDate, 
                                                                @Param("endDate") LocalDate endDate);
     
+    // Monthly queries use a date range on attendance_date (not YEAR()/MONTH()) so MySQL
+    // prunes to the month's partition and can range-scan the (employee_id, attendance_date) key
+    
     // Get monthly attendance for an employee
-    @Query("SELECT a FROM Attendance a WHERE a.employee.id = :employeeId AND YEAR(a.attendanceDate) = :year AND MONTH(a.attendanceDate) = :month ORDER BY a.attendanceDate")
-    List<Attendance> getMonthlyAttendanceByEmployee(@Param("employeeId") Long employeeId, 
-                                                     @Param("year") int year, 
-                                                     @Param("month") int month);
+    default List<Attendance> getMonthlyAttendanceByEmployee(Long employeeId, int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return findByEmployeeIdAndAttendanceDateBetween(employeeId, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
     
     // Count present days for employee in a month
-    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee.id = :employeeId AND YEAR(a.attendanceDate) = :year AND MONTH(a.attendanceDate) = :month AND a.status = 'PRESENT'")
-    long countPresentDaysByMonth(@Param("employeeId") Long employeeId, 
-                                  @Param("year") int year, 
-                                  @Param("month") int month);
+    default long countPresentDaysByMonth(Long employeeId, int year, int month) {
+        return countByEmployeeMonthAndStatus(employeeId, year, month, Attendance.AttendanceStatus.PRESENT);
+    }
     
     // Count absent days for employee in a month
-    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee.id = :employeeId AND YEAR(a.attendanceDate) = :year AND MONTH(a.attendanceDate) = :month AND a.status = 'ABSENT'")
-    long countAbsentDaysByMonth(@Param("employeeId") Long employeeId, 
-                                 @Param("year") int year, 
-                                 @Param("month") int month);
+    default long countAbsentDaysByMonth(Long employeeId, int year, int month) {
+        return countByEmployeeMonthAndStatus(employeeId, year, month, Attendance.AttendanceStatus.ABSENT);
+    }
     
     // Count leaves for employee in a month
-    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee.id = :employeeId AND YEAR(a.attendanceDate) = :year AND MONTH(a.attendanceDate) = :month AND a.status = 'LEAVE'")
-    long countLeavesByMonth(@Param("employeeId") Long employeeId, 
-                            @Param("year") int year, 
-                            @Param("month") int month);
+    default long countLeavesByMonth(Long employeeId, int year, int month) {
+        return countByEmployeeMonthAndStatus(employeeId, year, month, Attendance.AttendanceStatus.LEAVE);
+    }
     
     // Get all absences for a date (for daily alert)
     @Query("SELECT a FROM Attendance a WHERE a.attendanceDate = :date AND a.status = 'ABSENT'")
     List<Attendance> findAbsenteesByDate(@Param("date") LocalDate date);
     
     // Get attendance summary by employee and status for a month
-    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee.id = :employeeId AND YEAR(a.attendanceDate) = :year AND MONTH(a.attendanceDate) = :month AND a.status = :status")
-    long countByEmployeeMonthAndStatus(@Param("employeeId") Long employeeId, 
-                                        @Param("year") int year, 
-                                        @Param("month") int month, 
-                                        @Param("status") Attendance.AttendanceStatus status);
+    default long countByEmployeeMonthAndStatus(Long employeeId, int year, int month, Attendance.AttendanceStatus status) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return countByEmployeeStatusBetween(employeeId, status, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
+    
+    // Count an employee's days with a status in a date range
+    @Query("SELECT COUNT(a) FROM Attendance a WHERE a.employee.id = :employeeId AND a.attendanceDate BETWEEN :startDate AND :endDate AND a.status = :status")
+    long countByEmployeeStatusBetween(@Param("employeeId") Long employeeId, 
+                                      @Param("status") Attendance.AttendanceStatus status, 
+                                      @Param("startDate") LocalDate startDate, 
+                                      @Param("endDate") LocalDate endDate);
     
     // Check if attendance exists for employee on a date
     boolean existsByEmployeeAndAttendanceDate(Employee employee, LocalDate attendanceDate);
     
     // Get total work hours for employee in a month
-    @Query("SELECT COALESCE(SUM(a.workHours), 0) FROM Attendance a WHERE a.employee.id = :employeeId AND YEAR(a.attendanceDate) = :year AND MONTH(a.attendanceDate) = :month")
-    Double getTotalWorkHoursByMonth(@Param("employeeId") Long employeeId, 
-                                    @Param("year") int year, 
-                                    @Param("month") int month);
+    default Double getTotalWorkHoursByMonth(Long employeeId, int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return getTotalWorkHoursBetween(employeeId, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
+    
+    @Query("SELECT COALESCE(SUM(a.workHours), 0) FROM Attendance a WHERE a.employee.id = :employeeId AND a.attendanceDate BETWEEN :startDate AND :endDate")
+    Double getTotalWorkHoursBetween(@Param("employeeId") Long employeeId, 
+                                    @Param("startDate") LocalDate startDate, 
+                                    @Param("endDate") LocalDate endDate);
     
     // Get overtime hours for employee in a month
-    @Query("SELECT COALESCE(SUM(a.overtimeHours), 0) FROM Attendance a WHERE a.employee.id = :employeeId AND YEAR(a.attendanceDate) = :year AND MONTH(a.attendanceDate) = :month")
-    Double getTotalOvertimeHoursByMonth(@Param("employeeId") Long employeeId, 
-                                        @Param("year") int year, 
-                                        @Param("month") int month);
+    default Double getTotalOvertimeHoursByMonth(Long employeeId, int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return getTotalOvertimeHoursBetween(employeeId, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
+    
+    @Query("SELECT COALESCE(SUM(a.overtimeHours), 0) FROM Attendance a WHERE a.employee.id = :employeeId AND a.attendanceDate BETWEEN :startDate AND :endDate")
+    Double getTotalOvertimeHoursBetween(@Param("employeeId") Long employeeId, 
+                                        @Param("startDate") LocalDate startDate, 
+                                        @Param("endDate") LocalDate endDate);
+    
+    // Rows created or updated inside a delta export window
+    @Query("SELECT a FROM Attendance a WHERE (a.updatedAt > :since OR a.createdAt > :since) AND a.updatedAt <= :until ORDER BY a.updatedAt")
+    List<Attendance> findChangedBetween(@Param("since") LocalDateTime since, 
+                                        @Param("until") LocalDateTime until);
 }
@@ -0,0 +1,19 @@
+package com.vertitrack.repository;
+
+import com.vertitrack.model.DeletionTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DeletionTombstoneRepository extends JpaRepository<DeletionTombstone, Long> {
+    
+    // Deletions inside a delta export window
+    @Query("SELECT t FROM DeletionTombstone t WHERE t.deletedAt > :since AND t.deletedAt <= :until ORDER BY t.deletedAt")
+    List<DeletionTombstone> findDeletedBetween(@Param("since") LocalDateTime since, 
+                                               @Param("until") LocalDateTime until);
+}
@@ -1,20 +1,28 @@
 package com.vertitrack.repository;
 
 import com.vertitrack.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee> {
     
     Optional<Employee> findByEmployeeCode(String employeeCode);
     
+    // Highest number after the prefix among existing codes (seeds the employee code sequence)
+    @Query("SELECT COALESCE(MAX(CAST(SUBSTRING(e.employeeCode, LENGTH(:prefix) + 1) AS Long)), 0) FROM Employee e " +
+           "WHERE e.employeeCode LIKE CONCAT(:prefix, '%')")
+    long findMaxCodeNumber(@Param("prefix") String prefix);
+    
     Optional<Employee> findByContactNumber(String contactNumber);
     
     Optional<Employee> findByEmail(String email);
@@ -32,6 +40,11 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     // Count employees by status
     long countByStatus(Employee.EmployeeStatus status);
     
+    // Ids of one page of employees for a jump in the paged employee table; the offset is
+    // skipped on the (sort key, id) index alone, without reading the rows
+    @Query("SELECT e.id FROM Employee e")
+    List<Long> findEmployeePageIds(Pageable pageable);
+    
     // Search employees by multiple criteria
     @Query("SELECT e FROM Employee e WHERE " +
            "LOWER(e.employeeCode) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -53,4 +66,9 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     // Find employees with relieving date (resigned/terminated)
     @Query("SELECT e FROM Employee e WHERE e.relievingDate IS NOT NULL ORDER BY e.relievingDate DESC")
     List<Employee> findRelievedEmployees();
+    
+    // Rows created or updated inside a delta export window
+    @Query("SELECT e FROM Employee e WHERE (e.updatedAt > :since OR e.createdAt > :since) AND e.updatedAt <= :until ORDER BY e.updatedAt")
+    List<Employee> findChangedBetween(@Param("since") LocalDateTime since, 
+                                      @Param("until") LocalDateTime until);
 }
@@ -4,11 +4,14 @@ import com.vertitrack.model.Expense;
 import com.vertitrack.model.Employee;
 import com.vertitrack.model.Lift;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -56,6 +59,13 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
                                             @Param("expenseType") Expense.ExpenseType expenseType, 
                                             @Param("year") int year);
     
+    // Fleet-wide lift expenses per lift, year and expense type: liftId, year, expenseType, amount
+    @Query("SELECT e.lift.id, YEAR(e.expenseDate), e.expenseType, COALESCE(SUM(e.amount), 0) FROM Expense e " +
+           "WHERE e.lift IS NOT NULL AND e.expenseDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY e.lift.id, YEAR(e.expenseDate), e.expenseType")
+    List<Object[]> sumAmountByLiftYearAndType(@Param("startDate") LocalDate startDate, 
+                                              @Param("endDate") LocalDate endDate);
+    
     // Get AMC material expenses for a year
     @Query("SELECT e FROM Expense e WHERE e.expenseType = 'MATERIAL_EXPENSE' AND YEAR(e.expenseDate) = :year ORDER BY e.expenseDate DESC")
     List<Expense> getAmcMaterialExpensesByYear(@Param("year") int year);
@@ -103,4 +113,27 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
            "LOWER(e.paidTo) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(e.invoiceNumber) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Expense> searchExpenses(@Param("keyword") String keyword);
+    
+    // Find expenses for a chunk of lifts between dates (fleet-wide batch jobs)
+    @Query("SELECT e FROM Expense e WHERE e.lift.id IN :liftIds AND e.expenseDate BETWEEN :startDate AND :endDate ORDER BY e.lift.id, e.expenseDate")
+    List<Expense> findByLiftIdsAndExpenseDateBetween(@Param("liftIds") Collection<Long> liftIds, 
+                                                      @Param("startDate") LocalDate startDate, 
+                                                      @Param("endDate") LocalDate endDate);
+    
+    // Rows created or updated inside a delta export window
+    @Query("SELECT e FROM Expense e WHERE (e.updatedAt > :since OR e.createdAt > :since) AND e.updatedAt <= :until ORDER BY e.updatedAt")
+    List<Expense> findChangedBetween(@Param("since") LocalDateTime since, 
+                                     @Param("until") LocalDateTime until);
+    
+    // Move a pending expense to OVERDUE if unchanged since the caller's version; 1 if this call won
+    @Modifying
+    @Query("UPDATE Expense e SET e.paymentStatus = 'OVERDUE', e.updatedAt = :now, e.version = e.version + 1 " +
+           "WHERE e.id = :id AND e.version = :version AND e.paymentStatus = 'PENDING'")
+    int markOverdueIfUnchanged(@Param("id") Long id, 
+                               @Param("version") long version, 
+                               @Param("now") LocalDateTime now);
+    
+    // Version and payment status of an expense after a missed transition
+    @Query("SELECT e.version, e.paymentStatus FROM Expense e WHERE e.id = :id")
+    List<Object[]> findTransitionState(@Param("id") Long id);
 }
@@ -0,0 +1,20 @@
+package com.vertitrack.repository;
+
+import com.vertitrack.model.LiftReliability;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LiftReliabilityRepository extends JpaRepository<LiftReliability, Long> {
+    
+    // Row-locked read, so concurrent service record saves of one lift apply in turn
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM LiftReliability r WHERE r.liftId = :liftId")
+    Optional<LiftReliability> findForUpdate(@Param("liftId") Long liftId);
+}
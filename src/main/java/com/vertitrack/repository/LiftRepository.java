@@ -1,17 +1,20 @@
 package com.vertitrack.repository;
 
 import com.vertitrack.model.Lift;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LiftRepository extends JpaRepository<Lift, Long> {
+public interface LiftRepository extends JpaRepository<Lift, Long>, JpaSpecificationExecutor<Lift> {
     
     Optional<Lift> findByLiftNumber(String liftNumber);
     
@@ -30,12 +33,9 @@ public interface LiftRepository extends JpaRepository<Lift, Long> {
     @Query("SELECT l FROM Lift l WHERE l.amcRenewalDate <= :date AND l.status = 'ACTIVE'")
     List<Lift> findLiftsWithAmcRenewalDue(@Param("date") LocalDate date);
     
-    // Find lifts with quarterly payment due
-    @Query("SELECT l FROM Lift l WHERE " +
-           "(l.quarter1PaymentDate BETWEEN :startDate AND :endDate) OR " +
-           "(l.quarter2PaymentDate BETWEEN :startDate AND :endDate) OR " +
-           "(l.quarter3PaymentDate BETWEEN :startDate AND :endDate) OR " +
-           "(l.quarter4PaymentDate BETWEEN :startDate AND :endDate)")
+    // Find lifts with quarterly payment due (range scan on the payment schedule's due date index)
+    @Query("SELECT DISTINCT l FROM PaymentSchedule p JOIN p.lift l WHERE " +
+           "p.dueDate BETWEEN :startDate AND :endDate AND p.status = 'DUE'")
     List<Lift> findLiftsWithQuarterlyPaymentDue(@Param("startDate") LocalDate startDate, 
                                                   @Param("endDate") LocalDate endDate);
     
@@ -43,6 +43,10 @@ public interface LiftRepository extends JpaRepository<Lift, Long> {
     @Query("SELECT l FROM Lift l WHERE l.status = 'ACTIVE' ORDER BY l.liftNumber")
     List<Lift> findAllActiveLifts();
     
+    // Attributes the cost analytics need, without loading entities: id, liftNumber, floors, capacity
+    @Query("SELECT l.id, l.liftNumber, l.floors, l.capacity FROM Lift l ORDER BY l.id")
+    List<Object[]> findCostAttributes();
+    
     // Count lifts by status
     long countByStatus(Lift.LiftStatus status);
     
@@ -60,4 +64,18 @@ public interface LiftRepository extends JpaRepository<Lift, Long> {
     // Find expired AMC lifts
     @Query("SELECT l FROM Lift l WHERE l.amcEndDate < :currentDate AND l.status = 'ACTIVE'")
     List<Lift> findLiftsWithExpiredAmc(@Param("currentDate") LocalDate currentDate);
+    
+    // Ids of one page of lifts for a jump in the paged lift table; the offset is
+    // skipped on the (sort key, id) index alone, without reading the rows
+    @Query("SELECT l.id FROM Lift l")
+    List<Long> findLiftPageIds(Pageable pageable);
+    
+    // Keyset chunk of lifts for fleet-wide batch jobs
+    @Query("SELECT l FROM Lift l WHERE l.id > :afterId ORDER BY l.id")
+    List<Lift> findLiftChunkAfterId(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Rows created or updated inside a delta export window
+    @Query("SELECT l FROM Lift l WHERE (l.updatedAt > :since OR l.createdAt > :since) AND l.updatedAt <= :until ORDER BY l.updatedAt")
+    List<Lift> findChangedBetween(@Param("since") LocalDateTime since, 
+                                  @Param("until") LocalDateTime until);
 }
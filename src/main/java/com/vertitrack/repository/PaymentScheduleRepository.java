@@ -0,0 +1,58 @@
+package com.vertitrack.repository;
+
+import com.vertitrack.model.PaymentSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PaymentScheduleRepository extends JpaRepository<PaymentSchedule, Long> {
+    
+    // All installments of a lift, oldest first
+    List<PaymentSchedule> findByLiftIdOrderByDueDate(Long liftId);
+    
+    // Unpaid installments due in a window, one range scan on (due_date, status)
+    @Query("SELECT p FROM PaymentSchedule p JOIN FETCH p.lift WHERE p.dueDate BETWEEN :startDate AND :endDate " +
+           "AND p.status = 'DUE' ORDER BY p.dueDate")
+    List<PaymentSchedule> findDueBetween(@Param("startDate") LocalDate startDate, 
+                                         @Param("endDate") LocalDate endDate);
+    
+    // Unpaid installments due on exactly these dates (reminder milestones)
+    @Query("SELECT p FROM PaymentSchedule p JOIN FETCH p.lift WHERE p.dueDate IN :dates AND p.status = 'DUE' " +
+           "ORDER BY p.dueDate")
+    List<PaymentSchedule> findDueOn(@Param("dates") Collection<LocalDate> dates);
+    
+    // Unpaid installments past their due date
+    @Query("SELECT p FROM PaymentSchedule p JOIN FETCH p.lift WHERE p.dueDate < :date AND p.status = 'DUE' " +
+           "ORDER BY p.dueDate")
+    List<PaymentSchedule> findOverdue(@Param("date") LocalDate date);
+    
+    // Expected installment amounts per month: year, month, amount, installments
+    @Query("SELECT YEAR(p.dueDate), MONTH(p.dueDate), COALESCE(SUM(p.amount), 0), COUNT(p) FROM PaymentSchedule p " +
+           "WHERE p.dueDate BETWEEN :startDate AND :endDate AND p.status = 'DUE' " +
+           "GROUP BY YEAR(p.dueDate), MONTH(p.dueDate) ORDER BY YEAR(p.dueDate), MONTH(p.dueDate)")
+    List<Object[]> forecastByMonth(@Param("startDate") LocalDate startDate, 
+                                   @Param("endDate") LocalDate endDate);
+    
+    // Total of all unpaid installments
+    @Query("SELECT COALESCE(SUM(p.amount), 0) FROM PaymentSchedule p WHERE p.status = 'DUE'")
+    Double getOutstandingTotal();
+    
+    // Remove a lift's installments before the lift itself is deleted
+    @Modifying
+    @Query("DELETE FROM PaymentSchedule p WHERE p.lift.id = :liftId")
+    int deleteByLiftId(@Param("liftId") Long liftId);
+    
+    // Reopen installments paid by an expense that is being deleted
+    @Modifying
+    @Query("UPDATE PaymentSchedule p SET p.expense = NULL, " +
+           "p.status = com.vertitrack.model.PaymentSchedule.InstallmentStatus.DUE, p.paidAt = NULL, " +
+           "p.updatedAt = CURRENT_TIMESTAMP, p.version = p.version + 1 WHERE p.expense.id = :expenseId")
+    int reopenPaidByExpense(@Param("expenseId") Long expenseId);
+}
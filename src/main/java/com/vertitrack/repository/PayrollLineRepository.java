@@ -0,0 +1,26 @@
+package com.vertitrack.repository;
+
+import com.vertitrack.model.PayrollLine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PayrollLineRepository extends JpaRepository<PayrollLine, Long> {
+    
+    List<PayrollLine> findByPayrollRunIdOrderByEmployeeCode(Long payrollRunId);
+    
+    // One employee's pay history, latest month first
+    @Query("SELECT l FROM PayrollLine l JOIN FETCH l.payrollRun r WHERE l.employeeId = :employeeId " +
+           "ORDER BY r.payrollYear DESC, r.payrollMonth DESC")
+    List<PayrollLine> findByEmployeeId(@Param("employeeId") Long employeeId);
+    
+    // Remove the lines of a run that is being replaced
+    @Modifying
+    @Query("DELETE FROM PayrollLine l WHERE l.payrollRun.id = :payrollRunId")
+    int deleteByPayrollRunId(@Param("payrollRunId") Long payrollRunId);
+}
@@ -0,0 +1,17 @@
+package com.vertitrack.repository;
+
+import com.vertitrack.model.PayrollRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+    
+    Optional<PayrollRun> findByPayrollYearAndPayrollMonth(Integer payrollYear, Integer payrollMonth);
+    
+    // Latest months first
+    List<PayrollRun> findAllByOrderByPayrollYearDescPayrollMonthDesc();
+}
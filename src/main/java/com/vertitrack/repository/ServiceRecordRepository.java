@@ -8,6 +8,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -56,6 +58,13 @@ public interface ServiceRecordRepository extends JpaRepository<ServiceRecord, Lo
     @Query("SELECT COALESCE(SUM(sr.totalCost), 0) FROM ServiceRecord sr WHERE sr.lift.id = :liftId AND YEAR(sr.serviceDate) = :year")
     Double getTotalServiceCostByLiftAndYear(@Param("liftId") Long liftId, @Param("year") int year);
     
+    // Fleet-wide service cost per lift, year and service type: liftId, year, serviceType, cost
+    @Query("SELECT sr.lift.id, YEAR(sr.serviceDate), sr.serviceType, COALESCE(SUM(sr.totalCost), 0) FROM ServiceRecord sr " +
+           "WHERE sr.serviceDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY sr.lift.id, YEAR(sr.serviceDate), sr.serviceType")
+    List<Object[]> sumCostByLiftYearAndType(@Param("startDate") LocalDate startDate, 
+                                            @Param("endDate") LocalDate endDate);
+    
     // Get service count by type for a lift
     @Query("SELECT COUNT(sr) FROM ServiceRecord sr WHERE sr.lift.id = :liftId AND sr.serviceType = :serviceType")
     long countByLiftIdAndServiceType(@Param("liftId") Long liftId, @Param("serviceType") ServiceRecord.ServiceType serviceType);
@@ -64,10 +73,43 @@ public interface ServiceRecordRepository extends JpaRepository<ServiceRecord, Lo
     @Query("SELECT sr FROM ServiceRecord sr WHERE sr.lift.id = :liftId ORDER BY sr.serviceDate DESC LIMIT 1")
     ServiceRecord findLastServiceRecordByLiftId(@Param("liftId") Long liftId);
     
+    // Latest failure (breakdown or AMC repair, not cancelled) of a lift on or before a date, other than one record
+    @Query("SELECT MAX(sr.serviceDate) FROM ServiceRecord sr WHERE sr.lift.id = :liftId AND sr.id <> :excludeId " +
+           "AND sr.serviceType IN ('BREAKDOWN_REPAIR', 'AMC_REPAIR') AND (sr.status IS NULL OR sr.status <> 'CANCELLED') " +
+           "AND sr.serviceDate <= :date")
+    LocalDate findPreviousFailureDate(@Param("liftId") Long liftId, 
+                                      @Param("date") LocalDate date, 
+                                      @Param("excludeId") Long excludeId);
+    
+    // Earliest failure of a lift on or after a date, other than one record
+    @Query("SELECT MIN(sr.serviceDate) FROM ServiceRecord sr WHERE sr.lift.id = :liftId AND sr.id <> :excludeId " +
+           "AND sr.serviceType IN ('BREAKDOWN_REPAIR', 'AMC_REPAIR') AND (sr.status IS NULL OR sr.status <> 'CANCELLED') " +
+           "AND sr.serviceDate >= :date")
+    LocalDate findNextFailureDate(@Param("liftId") Long liftId, 
+                                  @Param("date") LocalDate date, 
+                                  @Param("excludeId") Long excludeId);
+    
+    // Every failure of the fleet in lift and date order: liftId, serviceDate (rebuilds reliability stats)
+    @Query("SELECT sr.lift.id, sr.serviceDate FROM ServiceRecord sr " +
+           "WHERE sr.serviceType IN ('BREAKDOWN_REPAIR', 'AMC_REPAIR') AND (sr.status IS NULL OR sr.status <> 'CANCELLED') " +
+           "ORDER BY sr.lift.id, sr.serviceDate")
+    List<Object[]> findAllFailureDates();
+    
     // Search service records
     @Query("SELECT sr FROM ServiceRecord sr WHERE " +
            "LOWER(sr.performedBy) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(sr.workDescription) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(sr.invoiceNumber) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<ServiceRecord> searchServiceRecords(@Param("keyword") String keyword);
+    
+    // Find service records for a chunk of lifts between dates (fleet-wide batch jobs)
+    @Query("SELECT sr FROM ServiceRecord sr WHERE sr.lift.id IN :liftIds AND sr.serviceDate BETWEEN :startDate AND :endDate ORDER BY sr.lift.id, sr.serviceDate")
+    List<ServiceRecord> findByLiftIdsAndServiceDateBetween(@Param("liftIds") Collection<Long> liftIds, 
+                                                            @Param("startDate") LocalDate startDate, 
+                                                            @Param("endDate") LocalDate endDate);
+    
+    // Rows created or updated inside a delta export window
+    @Query("SELECT sr FROM ServiceRecord sr WHERE (sr.updatedAt > :since OR sr.createdAt > :since) AND sr.updatedAt <= :until ORDER BY sr.updatedAt")
+    List<ServiceRecord> findChangedBetween(@Param("since") LocalDateTime since, 
+                                           @Param("until") LocalDateTime until);
 }
@@ -1,10 +1,14 @@
 package com.vertitrack.service;
 
+import com.vertitrack.config.CacheConfig;
 import com.vertitrack.model.Alert;
 import com.vertitrack.model.Employee;
 import com.vertitrack.model.Lift;
 import com.vertitrack.repository.AlertRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +24,10 @@ public class AlertService {
     
     private final AlertRepository alertRepository;
     
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.UNREAD_ALERTS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ALERT_COUNTS, allEntries = true)
+    })
     public Alert saveAlert(Alert alert) {
         return alertRepository.save(alert);
     }
@@ -32,6 +40,7 @@ public class AlertService {
         return alertRepository.findActiveAlerts();
     }
     
+    @Cacheable(cacheNames = CacheConfig.UNREAD_ALERTS, sync = true)
     public List<Alert> findUnreadAlerts() {
         return alertRepository.findUnreadAlerts();
     }
@@ -56,6 +65,7 @@ public class AlertService {
         return alertRepository.findByEmployeeId(employeeId);
     }
     
+    @Cacheable(cacheNames = CacheConfig.ALERT_COUNTS, key = "'UNREAD'", sync = true)
     public long countUnreadAlerts() {
         return alertRepository.countUnreadAlerts();
     }
@@ -64,33 +74,54 @@ public class AlertService {
         return alertRepository.countByPriority(priority);
     }
     
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.UNREAD_ALERTS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ALERT_COUNTS, allEntries = true)
+    })
     public void deleteAlert(Long id) {
         alertRepository.deleteById(id);
     }
     
     // Business Logic
-    public void markAsRead(Long alertId) {
-        Optional<Alert> alertOpt = alertRepository.findById(alertId);
-        if (alertOpt.isPresent()) {
-            Alert alert = alertOpt.get();
-            alert.setIsRead(true);
-            alert.setReadAt(LocalDateTime.now());
-            alertRepository.save(alert);
-        }
-    }
-    
-    public void dismissAlert(Long alertId, String action) {
-        Optional<Alert> alertOpt = alertRepository.findById(alertId);
-        if (alertOpt.isPresent()) {
-            Alert alert = alertOpt.get();
-            alert.setIsActive(false);
-            alert.setDismissedAt(LocalDateTime.now());
-            alert.setActionTaken(action);
-            alertRepository.save(alert);
-        }
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.UNREAD_ALERTS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ALERT_COUNTS, allEntries = true)
+    })
+    public StateTransition.Result markAsRead(Long alertId, long expectedVersion) {
+        LocalDateTime now = LocalDateTime.now();
+        return StateTransition.apply(expectedVersion,
+            version -> alertRepository.markReadIfUnchanged(alertId, version, now) == 1,
+            () -> currentState(alertId, true));
+    }
+    
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.UNREAD_ALERTS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ALERT_COUNTS, allEntries = true)
+    })
+    public StateTransition.Result dismissAlert(Long alertId, long expectedVersion, String action) {
+        LocalDateTime now = LocalDateTime.now();
+        return StateTransition.apply(expectedVersion,
+            version -> alertRepository.dismissIfUnchanged(alertId, version, action, now) == 1,
+            () -> currentState(alertId, false));
+    }
+    
+    // Version and read/active state of an alert, for retrying a transition
+    private StateTransition.Current currentState(Long alertId, boolean markingRead) {
+        List<Object[]> rows = alertRepository.findTransitionState(alertId);
+        if (rows.isEmpty()) return null;
+        Object[] row = rows.get(0);
+        boolean read = Boolean.TRUE.equals(row[1]);
+        boolean active = !Boolean.FALSE.equals(row[2]);
+        return markingRead
+            ? new StateTransition.Current((Long) row[0], !read, read)
+            : new StateTransition.Current((Long) row[0], active, !active);
     }
     
     // Create specific alert types
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.UNREAD_ALERTS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ALERT_COUNTS, allEntries = true)
+    })
     public Alert createAmcExpiryAlert(Lift lift, int daysUntilExpiry) {
         Alert alert = new Alert();
         alert.setAlertType(Alert.AlertType.AMC_EXPIRY);
@@ -115,6 +146,10 @@ public class AlertService {
         return alertRepository.save(alert);
     }
     
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.UNREAD_ALERTS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ALERT_COUNTS, allEntries = true)
+    })
     public Alert createQuarterlyPaymentAlert(Lift lift, LocalDate paymentDate, String quarter) {
         Alert alert = new Alert();
         alert.setAlertType(Alert.AlertType.QUARTERLY_PAYMENT);
@@ -137,6 +172,10 @@ public class AlertService {
         return alertRepository.save(alert);
     }
     
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.UNREAD_ALERTS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ALERT_COUNTS, allEntries = true)
+    })
     public Alert createEmployeeAbsenceAlert(Employee employee, LocalDate date) {
         Alert alert = new Alert();
         alert.setAlertType(Alert.AlertType.EMPLOYEE_ABSENCE);
@@ -152,6 +191,10 @@ public class AlertService {
     }
     
     // Cleanup old dismissed alerts (can be scheduled)
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.UNREAD_ALERTS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ALERT_COUNTS, allEntries = true)
+    })
     public void cleanupOldDismissedAlerts(int daysOld) {
         LocalDateTime beforeDate = LocalDateTime.now().minusDays(daysOld);
         List<Alert> oldAlerts = alertRepository.findOldDismissedAlerts(beforeDate);
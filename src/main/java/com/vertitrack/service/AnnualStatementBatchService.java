@@ -0,0 +1,303 @@
+package com.vertitrack.service;
+
+import com.vertitrack.model.Expense;
+import com.vertitrack.model.Lift;
+import com.vertitrack.model.ServiceRecord;
+import com.vertitrack.repository.ExpenseRepository;
+import com.vertitrack.repository.LiftRepository;
+import com.vertitrack.repository.ServiceRecordRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Annual Statement Batch Service - Builds the "AMC & Repairing Payment Record"
+ * for every lift in the fleet for one year.
+ *
+ * Lifts are processed in keyset chunks; each chunk loads its service records
+ * and expenses with one query per table, statements are rendered in parallel,
+ * and a checkpoint file is written after every completed chunk so a crashed
+ * run resumes at the next chunk.
+ */
+@Service
+@Lazy
+@RequiredArgsConstructor
+@Slf4j
+public class AnnualStatementBatchService {
+
+    private final LiftRepository liftRepository;
+    private final ServiceRecordRepository serviceRecordRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ExportService exportService;
+
+    private static final int DEFAULT_CHUNK_SIZE = 200;
+    private static final String CHECKPOINT_FILE = ".statements-checkpoint";
+
+    public enum OutputMode {
+        DIRECTORY,  // One CSV file per lift
+        ZIP         // One ZIP archive per chunk
+    }
+
+    /**
+     * Run the batch with default chunk size and one worker per CPU
+     */
+    public BatchResult exportAnnualStatements(int year, Path outputDir, OutputMode mode) throws IOException {
+        return exportAnnualStatements(year, outputDir, mode, DEFAULT_CHUNK_SIZE,
+            Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Run (or resume) the fleet-wide annual statement batch
+     */
+    public BatchResult exportAnnualStatements(int year, Path outputDir, OutputMode mode,
+                                              int chunkSize, int threads) throws IOException {
+        Files.createDirectories(outputDir);
+        Checkpoint checkpoint = Checkpoint.load(outputDir.resolve(CHECKPOINT_FILE), year, mode);
+        if (checkpoint.getLastLiftId() > 0) {
+            log.info("Resuming annual statements for {} after lift id {} ({} chunks already done)",
+                year, checkpoint.getLastLiftId(), checkpoint.getChunksCompleted());
+        }
+
+        LocalDate startDate = LocalDate.of(year, 1, 1);
+        LocalDate endDate = LocalDate.of(year, 12, 31);
+        long startNanos = System.nanoTime();
+        int statementsThisRun = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            while (true) {
+                List<Lift> lifts = liftRepository.findLiftChunkAfterId(
+                    checkpoint.getLastLiftId(), PageRequest.of(0, chunkSize));
+                if (lifts.isEmpty()) {
+                    break;
+                }
+
+                List<Long> liftIds = new ArrayList<>(lifts.size());
+                for (Lift lift : lifts) {
+                    liftIds.add(lift.getId());
+                }
+
+                Map<Long, List<ServiceRecord>> recordsByLift = new HashMap<>();
+                for (ServiceRecord record : serviceRecordRepository.findByLiftIdsAndServiceDateBetween(liftIds, startDate, endDate)) {
+                    recordsByLift.computeIfAbsent(record.getLift().getId(), id -> new ArrayList<>()).add(record);
+                }
+                Map<Long, List<Expense>> expensesByLift = new HashMap<>();
+                for (Expense expense : expenseRepository.findByLiftIdsAndExpenseDateBetween(liftIds, startDate, endDate)) {
+                    expensesByLift.computeIfAbsent(expense.getLift().getId(), id -> new ArrayList<>()).add(expense);
+                }
+
+                int chunkNumber = checkpoint.getChunksCompleted() + 1;
+                if (mode == OutputMode.ZIP) {
+                    writeZipChunk(executor, lifts, recordsByLift, expensesByLift, year, outputDir, chunkNumber);
+                } else {
+                    writeDirectoryChunk(executor, lifts, recordsByLift, expensesByLift, year, outputDir);
+                }
+
+                statementsThisRun += lifts.size();
+                checkpoint.advance(lifts.get(lifts.size() - 1).getId(), lifts.size());
+                checkpoint.save();
+                log.info("Annual statements {}: chunk {} done ({} lifts, {} total)",
+                    year, chunkNumber, lifts.size(), checkpoint.getStatementsWritten());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        checkpoint.markComplete();
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Exported {} annual statements for {} to {} in {} ms",
+            statementsThisRun, year, outputDir, elapsedMillis);
+        return new BatchResult(statementsThisRun, checkpoint.getStatementsWritten(),
+            checkpoint.getChunksCompleted(), elapsedMillis);
+    }
+
+    private void writeDirectoryChunk(ExecutorService executor, List<Lift> lifts,
+                                     Map<Long, List<ServiceRecord>> recordsByLift,
+                                     Map<Long, List<Expense>> expensesByLift,
+                                     int year, Path outputDir) throws IOException {
+        List<Callable<Void>> tasks = new ArrayList<>(lifts.size());
+        for (Lift lift : lifts) {
+            tasks.add(() -> {
+                Path target = outputDir.resolve(statementFileName(lift, year));
+                Path temp = outputDir.resolve(target.getFileName() + ".tmp");
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    writeStatement(out, lift, year, recordsByLift, expensesByLift);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return null;
+            });
+        }
+        awaitAll(executor, tasks);
+    }
+
+    private void writeZipChunk(ExecutorService executor, List<Lift> lifts,
+                               Map<Long, List<ServiceRecord>> recordsByLift,
+                               Map<Long, List<Expense>> expensesByLift,
+                               int year, Path outputDir, int chunkNumber) throws IOException {
+        // Render in parallel, then stream into the archive in lift order
+        List<Callable<byte[]>> tasks = new ArrayList<>(lifts.size());
+        for (Lift lift : lifts) {
+            tasks.add(() -> {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(8 * 1024);
+                writeStatement(buffer, lift, year, recordsByLift, expensesByLift);
+                return buffer.toByteArray();
+            });
+        }
+        List<byte[]> rendered = awaitAll(executor, tasks);
+
+        Path target = outputDir.resolve(String.format("statements_%d_part%04d.zip", year, chunkNumber));
+        Path temp = outputDir.resolve(target.getFileName() + ".tmp");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(temp))) {
+            for (int i = 0; i < lifts.size(); i++) {
+                zip.putNextEntry(new ZipEntry(statementFileName(lifts.get(i), year)));
+                zip.write(rendered.get(i));
+                zip.closeEntry();
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void writeStatement(OutputStream out, Lift lift, int year,
+                                Map<Long, List<ServiceRecord>> recordsByLift,
+                                Map<Long, List<Expense>> expensesByLift) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        exportService.writeLiftAnnualStatement(writer, lift, year,
+            recordsByLift.getOrDefault(lift.getId(), List.of()),
+            expensesByLift.getOrDefault(lift.getId(), List.of()));
+        writer.flush();
+    }
+
+    private <T> List<T> awaitAll(ExecutorService executor, List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Annual statement batch interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to write annual statement", e.getCause());
+        }
+        return results;
+    }
+
+    private String statementFileName(Lift lift, int year) {
+        String liftNumber = lift.getLiftNumber() != null ? lift.getLiftNumber() : "lift";
+        return String.format("%s_%d_%d.csv", liftNumber.replaceAll("[^A-Za-z0-9._-]", "_"), lift.getId(), year);
+    }
+
+    /**
+     * Summary of a batch run
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class BatchResult {
+        private final int statementsThisRun;
+        private final int statementsTotal;
+        private final int chunksCompleted;
+        private final long elapsedMillis;
+    }
+
+    /**
+     * Progress checkpoint persisted next to the output files.
+     * Written atomically after each chunk so it always points at a fully written chunk.
+     */
+    @Getter
+    private static class Checkpoint {
+        private final Path file;
+        private final int year;
+        private final OutputMode mode;
+        private long lastLiftId;
+        private int chunksCompleted;
+        private int statementsWritten;
+
+        private Checkpoint(Path file, int year, OutputMode mode) {
+            this.file = file;
+            this.year = year;
+            this.mode = mode;
+        }
+
+        static Checkpoint load(Path file, int year, OutputMode mode) throws IOException {
+            Checkpoint checkpoint = new Checkpoint(file, year, mode);
+            if (!Files.exists(file)) {
+                return checkpoint;
+            }
+
+            Properties props = new Properties();
+            try (InputStream in = Files.newInputStream(file)) {
+                props.load(in);
+            }
+            // Only resume a run for the same year and output mode that did not finish
+            boolean sameRun = String.valueOf(year).equals(props.getProperty("year"))
+                && mode.name().equals(props.getProperty("mode"))
+                && !Boolean.parseBoolean(props.getProperty("complete"));
+            if (sameRun) {
+                checkpoint.lastLiftId = Long.parseLong(props.getProperty("lastLiftId", "0"));
+                checkpoint.chunksCompleted = Integer.parseInt(props.getProperty("chunksCompleted", "0"));
+                checkpoint.statementsWritten = Integer.parseInt(props.getProperty("statementsWritten", "0"));
+            }
+            return checkpoint;
+        }
+
+        void advance(long lastLiftId, int statements) {
+            this.lastLiftId = lastLiftId;
+            this.chunksCompleted++;
+            this.statementsWritten += statements;
+        }
+
+        void save() throws IOException {
+            write(false);
+        }
+
+        void markComplete() throws IOException {
+            write(true);
+        }
+
+        private void write(boolean complete) throws IOException {
+            Properties props = new Properties();
+            props.setProperty("year", String.valueOf(year));
+            props.setProperty("mode", mode.name());
+            props.setProperty("lastLiftId", String.valueOf(lastLiftId));
+            props.setProperty("chunksCompleted", String.valueOf(chunksCompleted));
+            props.setProperty("statementsWritten", String.valueOf(statementsWritten));
+            props.setProperty("complete", String.valueOf(complete));
+
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                props.store(out, "VertiTrack annual statement batch checkpoint");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
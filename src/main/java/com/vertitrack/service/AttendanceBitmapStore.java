@@ -0,0 +1,273 @@
+package com.vertitrack.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vertitrack.model.Attendance;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Attendance Bitmap Store - Compact in-memory attendance by month
+ *
+ * Each employee-month is two longs holding a 4-bit status code per day
+ * (0 = not marked, otherwise status ordinal + 1) plus float arrays of work
+ * and overtime hours. A month is loaded with one partition-pruned query the
+ * first time it is asked for, kept for a bounded number of months, and
+ * dropped whenever one of its rows is written. Counts, streaks and "who had
+ * status X on day D" are answered with bit operations on the packed codes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceBitmapStore {
+
+    private static final int MAX_CACHED_MONTHS = 24;
+    private static final int BITS_PER_DAY = 4;
+    private static final int DAYS_PER_WORD = Long.SIZE / BITS_PER_DAY;
+    private static final long LOW_BITS = 0x1111_1111_1111_1111L; // lowest bit of every nibble
+    private static final Attendance.AttendanceStatus[] STATUSES = Attendance.AttendanceStatus.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<YearMonth, MonthBitmap> months = Caffeine.newBuilder()
+        .maximumSize(MAX_CACHED_MONTHS)
+        .build();
+
+    /**
+     * One employee's month, or null if nothing is marked for them
+     */
+    public EmployeeMonth get(Long employeeId, YearMonth month) {
+        return month(month).employees.get(employeeId);
+    }
+
+    /**
+     * Every employee-month of a month, by employee id (read-only)
+     */
+    public Map<Long, EmployeeMonth> getMonth(YearMonth month) {
+        return month(month).employees;
+    }
+
+    public int count(Long employeeId, YearMonth month, Attendance.AttendanceStatus status) {
+        EmployeeMonth employeeMonth = get(employeeId, month);
+        return employeeMonth != null ? employeeMonth.count(status) : 0;
+    }
+
+    public Map<Attendance.AttendanceStatus, Integer> statusCounts(Long employeeId, YearMonth month) {
+        Map<Attendance.AttendanceStatus, Integer> counts = new EnumMap<>(Attendance.AttendanceStatus.class);
+        EmployeeMonth employeeMonth = get(employeeId, month);
+        for (Attendance.AttendanceStatus status : STATUSES) {
+            counts.put(status, employeeMonth != null ? employeeMonth.count(status) : 0);
+        }
+        return counts;
+    }
+
+    public int longestStreak(Long employeeId, YearMonth month, Attendance.AttendanceStatus status) {
+        EmployeeMonth employeeMonth = get(employeeId, month);
+        return employeeMonth != null ? employeeMonth.longestStreak(status) : 0;
+    }
+
+    public double totalWorkHours(Long employeeId, YearMonth month) {
+        EmployeeMonth employeeMonth = get(employeeId, month);
+        return employeeMonth != null ? employeeMonth.totalWorkHours() : 0;
+    }
+
+    public double totalOvertimeHours(Long employeeId, YearMonth month) {
+        EmployeeMonth employeeMonth = get(employeeId, month);
+        return employeeMonth != null ? employeeMonth.totalOvertimeHours() : 0;
+    }
+
+    /**
+     * Ids of employees marked with the status on a date
+     */
+    public List<Long> employeesWithStatusOn(LocalDate date, Attendance.AttendanceStatus status) {
+        int day = date.getDayOfMonth() - 1;
+        List<Long> employeeIds = new ArrayList<>();
+        for (Map.Entry<Long, EmployeeMonth> entry : month(YearMonth.from(date)).employees.entrySet()) {
+            if (entry.getValue().statusCode(day) == code(status)) {
+                employeeIds.add(entry.getKey());
+            }
+        }
+        return employeeIds;
+    }
+
+    public List<Long> absentOn(LocalDate date) {
+        return employeesWithStatusOn(date, Attendance.AttendanceStatus.ABSENT);
+    }
+
+    /**
+     * Drop the month of a written row; repeated after commit so a concurrent
+     * load cannot re-cache the month from before the write
+     */
+    public void invalidate(LocalDate date) {
+        YearMonth month = YearMonth.from(date);
+        months.invalidate(month);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    months.invalidate(month);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        months.invalidateAll();
+    }
+
+    // Helper methods
+    private MonthBitmap month(YearMonth month) {
+        return months.get(month, this::load);
+    }
+
+    private MonthBitmap load(YearMonth month) {
+        long start = System.nanoTime();
+        int days = month.lengthOfMonth();
+        Map<Long, EmployeeMonth> employees = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT employee_id, attendance_date, status, work_hours, overtime_hours FROM attendance " +
+            "WHERE attendance_date BETWEEN ? AND ?",
+            rs -> {
+                EmployeeMonth employeeMonth = employees.computeIfAbsent(rs.getLong(1), id -> new EmployeeMonth(days));
+                int day = rs.getDate(2).toLocalDate().getDayOfMonth() - 1;
+                employeeMonth.set(day, Attendance.AttendanceStatus.valueOf(rs.getString(3)), rs.getFloat(4), rs.getFloat(5));
+            },
+            Date.valueOf(month.atDay(1)), Date.valueOf(month.atEndOfMonth()));
+        log.debug("Loaded attendance bitmap for {} ({} employees) in {} ms", month, employees.size(),
+            (System.nanoTime() - start) / 1_000_000);
+        return new MonthBitmap(Collections.unmodifiableMap(employees));
+    }
+
+    private static int code(Attendance.AttendanceStatus status) {
+        return status.ordinal() + 1;
+    }
+
+    /**
+     * All employee-months of one month; not modified after loading
+     */
+    private static class MonthBitmap {
+        private final Map<Long, EmployeeMonth> employees;
+
+        MonthBitmap(Map<Long, EmployeeMonth> employees) {
+            this.employees = employees;
+        }
+    }
+
+    /**
+     * One employee's month: 4-bit status codes packed 16 days per long, hours per day
+     */
+    public static class EmployeeMonth {
+        private final long[] codes;
+        private final float[] workHours;
+        private final float[] overtimeHours;
+        private final int days;
+
+        EmployeeMonth(int days) {
+            this.days = days;
+            this.codes = new long[(days + DAYS_PER_WORD - 1) / DAYS_PER_WORD];
+            this.workHours = new float[days];
+            this.overtimeHours = new float[days];
+        }
+
+        void set(int day, Attendance.AttendanceStatus status, float work, float overtime) {
+            int word = day / DAYS_PER_WORD;
+            int shift = (day % DAYS_PER_WORD) * BITS_PER_DAY;
+            codes[word] = (codes[word] & ~(0xFL << shift)) | ((long) code(status) << shift);
+            workHours[day] = work;
+            overtimeHours[day] = overtime;
+        }
+
+        int statusCode(int day) {
+            return (int) (codes[day / DAYS_PER_WORD] >>> ((day % DAYS_PER_WORD) * BITS_PER_DAY)) & 0xF;
+        }
+
+        /**
+         * Status on a day of the month (1-based), or null if not marked
+         */
+        public Attendance.AttendanceStatus getStatus(int dayOfMonth) {
+            int code = statusCode(dayOfMonth - 1);
+            return code == 0 ? null : STATUSES[code - 1];
+        }
+
+        public float getWorkHours(int dayOfMonth) {
+            return workHours[dayOfMonth - 1];
+        }
+
+        public float getOvertimeHours(int dayOfMonth) {
+            return overtimeHours[dayOfMonth - 1];
+        }
+
+        public int count(Attendance.AttendanceStatus status) {
+            int count = 0;
+            for (long word : codes) {
+                count += Long.bitCount(matches(word, code(status)));
+            }
+            return count;
+        }
+
+        /**
+         * Bit d set if day d + 1 has the status
+         */
+        public int dayMask(Attendance.AttendanceStatus status) {
+            int mask = 0;
+            for (int word = 0; word < codes.length; word++) {
+                long matching = matches(codes[word], code(status));
+                while (matching != 0) {
+                    int nibble = Long.numberOfTrailingZeros(matching) / BITS_PER_DAY;
+                    mask |= 1 << (word * DAYS_PER_WORD + nibble);
+                    matching &= matching - 1;
+                }
+            }
+            return mask;
+        }
+
+        /**
+         * Longest run of consecutive days with the status
+         */
+        public int longestStreak(Attendance.AttendanceStatus status) {
+            int mask = dayMask(status);
+            int length = 0;
+            while (mask != 0) {
+                mask &= mask << 1;
+                length++;
+            }
+            return length;
+        }
+
+        public double totalWorkHours() {
+            double total = 0;
+            for (float hours : workHours) total += hours;
+            return total;
+        }
+
+        public double totalOvertimeHours() {
+            double total = 0;
+            for (float hours : overtimeHours) total += hours;
+            return total;
+        }
+
+        public int getDays() {
+            return days;
+        }
+
+        // Lowest bit of each nibble equal to code set, all other bits clear
+        private static long matches(long word, int code) {
+            long diff = word ^ (LOW_BITS * code);
+            long nonZero = (diff | (diff >>> 1) | (diff >>> 2) | (diff >>> 3)) & LOW_BITS;
+            return ~nonZero & LOW_BITS;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.vertitrack.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.vertitrack.service.ExportService.escapeCSV;
+
+/**
+ * Attendance Partition Service - Monthly range partitions for the attendance table
+ *
+ * attendance is partitioned by RANGE COLUMNS(attendance_date), one partition
+ * per month (pYYYYMM) plus a catch-all pmax, so month queries touch one
+ * partition and old months can be removed with DROP PARTITION instead of a
+ * row-by-row DELETE. A daily job keeps MONTHS_AHEAD future months split out
+ * of pmax; a monthly job exports months older than the retention period to
+ * gzip CSV and then drops them. MySQL does not allow foreign keys on
+ * partitioned tables, so attendance.employee_id is not a database FK.
+ */
+@Service
+@Slf4j
+public class AttendancePartitionService {
+
+    static final int MONTHS_AHEAD = 3;
+    private static final String TABLE = "attendance";
+    private static final String CATCH_ALL = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AttendanceBitmapStore bitmapStore;
+    private final int retentionMonths;
+    private final Path archiveDir;
+
+    public AttendancePartitionService(JdbcTemplate jdbcTemplate,
+                                      AttendanceBitmapStore bitmapStore,
+                                      @Value("${vertitrack.attendance.retention-months:36}") int retentionMonths,
+                                      @Value("${vertitrack.attendance.archive-dir:archive/attendance}") String archiveDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bitmapStore = bitmapStore;
+        this.retentionMonths = retentionMonths;
+        this.archiveDir = Paths.get(archiveDir);
+    }
+
+    /**
+     * Partition the table if it is not partitioned yet; safe to run on every startup
+     * The first run rebuilds the table once (primary key and partitioning).
+     */
+    public void ensurePartitioned() {
+        if (!partitionNames().isEmpty()) {
+            ensureFuturePartitions();
+            return;
+        }
+
+        long start = System.nanoTime();
+        dropEmployeeForeignKey();
+        // Every unique key of a partitioned table must contain the partitioning column
+        if (!primaryKeyColumns().contains("attendance_date")) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, attendance_date)");
+        }
+
+        LocalDate oldest = jdbcTemplate.queryForObject("SELECT MIN(attendance_date) FROM " + TABLE, LocalDate.class);
+        YearMonth first = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+        YearMonth last = YearMonth.now().plusMonths(MONTHS_AHEAD);
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            partitions.add(partitionClause(month));
+        }
+        partitions.add("PARTITION " + CATCH_ALL + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE COLUMNS(attendance_date) (" +
+            String.join(", ", partitions) + ")");
+        log.info("Partitioned {} into {} monthly partitions in {} ms", TABLE, partitions.size() - 1,
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Split the next months out of the catch-all partition before any rows land in them
+     */
+    @Scheduled(cron = "0 30 1 * * *") // Every day at 1:30 AM
+    public void ensureFuturePartitions() {
+        List<String> existing = partitionNames();
+        if (existing.isEmpty()) return;
+
+        List<String> missing = new ArrayList<>();
+        YearMonth last = YearMonth.now().plusMonths(MONTHS_AHEAD);
+        YearMonth month = latestMonth(existing).plusMonths(1);
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            missing.add(partitionClause(month));
+        }
+        if (missing.isEmpty()) return;
+
+        // pmax holds no rows for future months in normal operation, so this is a metadata change
+        missing.add("PARTITION " + CATCH_ALL + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + CATCH_ALL + " INTO (" +
+            String.join(", ", missing) + ")");
+        log.info("Added {} attendance partitions up to {}", missing.size() - 1, last);
+    }
+
+    /**
+     * Export and drop months older than the retention period
+     */
+    @Scheduled(cron = "0 0 3 2 * *") // 2nd day of every month at 3:00 AM
+    public void applyRetention() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        for (String partition : partitionNames()) {
+            if (CATCH_ALL.equals(partition)) continue;
+            YearMonth month = monthOf(partition);
+            if (!month.isBefore(cutoff)) continue;
+            try {
+                long rows = archivePartition(partition, month);
+                // Metadata-only: the partition's tablespace is removed, no per-row delete
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition);
+                bitmapStore.invalidate(month.atDay(1));
+                log.info("Archived and dropped attendance partition {} ({} rows)", partition, rows);
+            } catch (IOException e) {
+                // Keep the partition; the next run retries
+                log.error("Could not archive attendance partition {}", partition, e);
+            }
+        }
+    }
+
+    /**
+     * Partitions the monthly queries touch, from EXPLAIN; logs a warning if one is not pruned
+     */
+    public boolean verifyPruning() {
+        YearMonth month = YearMonth.now();
+        String expected = PARTITION_NAME.format(month.atDay(1));
+        Date from = Date.valueOf(month.atDay(1));
+        Date to = Date.valueOf(month.atEndOfMonth());
+        boolean pruned = true;
+        pruned &= checkPruned("date range", expected,
+            "EXPLAIN SELECT * FROM " + TABLE + " WHERE attendance_date BETWEEN ? AND ?", from, to);
+        pruned &= checkPruned("employee month", expected,
+            "EXPLAIN SELECT * FROM " + TABLE + " WHERE employee_id = ? AND attendance_date BETWEEN ? AND ?", 0L, from, to);
+        pruned &= checkPruned("single day", expected,
+            "EXPLAIN SELECT * FROM " + TABLE + " WHERE attendance_date = ? AND status = 'ABSENT'", from);
+        return pruned;
+    }
+
+    // Helper methods
+    private long archivePartition(String partition, YearMonth month) throws IOException {
+        Files.createDirectories(archiveDir);
+        Path file = archiveDir.resolve("attendance-" + month + ".csv.gz");
+        long[] rows = {0};
+        try (Writer writer = ExportSink.open(file)) {
+            writer.write("Id,Employee Id,Date,Status,Check In,Check Out,Work Hours,Overtime Hours,Leave Type,Remarks,Created At,Updated At\n");
+            jdbcTemplate.query("SELECT id, employee_id, attendance_date, status, check_in_time, check_out_time, work_hours, " +
+                "overtime_hours, leave_type, remarks, created_at, updated_at FROM " + TABLE + " PARTITION (" + partition + ") ORDER BY id",
+                rs -> {
+                    try {
+                        for (int column = 1; column <= 12; column++) {
+                            if (column > 1) writer.write(',');
+                            String value = rs.getString(column);
+                            writer.write(value != null ? escapeCSV(value) : "");
+                        }
+                        writer.write('\n');
+                        rows[0]++;
+                    } catch (IOException e) {
+                        throw new ArchiveWriteException(e);
+                    }
+                });
+        } catch (ArchiveWriteException e) {
+            Files.deleteIfExists(file);
+            throw e.getCause();
+        }
+        return rows[0];
+    }
+
+    private boolean checkPruned(String query, String expected, String explain, Object... args) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList(explain, args);
+        for (Map<String, Object> step : plan) {
+            Object partitions = step.get("partitions");
+            if (partitions != null && !expected.equals(partitions.toString())) {
+                log.warn("Attendance {} query is not pruned to {}: uses {}", query, expected, partitions);
+                return false;
+            }
+        }
+        log.debug("Attendance {} query prunes to {}", query, expected);
+        return true;
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList(
+            "SELECT partition_name FROM information_schema.partitions " +
+            "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL " +
+            "ORDER BY partition_ordinal_position", String.class, TABLE);
+    }
+
+    private List<String> primaryKeyColumns() {
+        return jdbcTemplate.queryForList(
+            "SELECT column_name FROM information_schema.key_column_usage " +
+            "WHERE table_schema = DATABASE() AND table_name = ? AND constraint_name = 'PRIMARY'", String.class, TABLE);
+    }
+
+    private void dropEmployeeForeignKey() {
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+            "SELECT constraint_name FROM information_schema.referential_constraints " +
+            "WHERE constraint_schema = DATABASE() AND table_name = ?", String.class, TABLE);
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP FOREIGN KEY " + foreignKey);
+            log.info("Dropped foreign key {} on {} (not supported with partitioning)", foreignKey, TABLE);
+        }
+    }
+
+    private YearMonth latestMonth(List<String> partitions) {
+        YearMonth latest = YearMonth.now().minusMonths(1);
+        for (String partition : partitions) {
+            if (CATCH_ALL.equals(partition)) continue;
+            YearMonth month = monthOf(partition);
+            if (month.isAfter(latest)) latest = month;
+        }
+        return latest;
+    }
+
+    private static YearMonth monthOf(String partition) {
+        return YearMonth.of(Integer.parseInt(partition.substring(1, 5)), Integer.parseInt(partition.substring(5, 7)));
+    }
+
+    private static String partitionClause(YearMonth month) {
+        return "PARTITION " + PARTITION_NAME.format(month.atDay(1)) +
+            " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    /**
+     * Carries an IOException out of a JDBC row callback
+     */
+    private static class ArchiveWriteException extends RuntimeException {
+        ArchiveWriteException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
@@ -4,25 +4,48 @@ import com.vertitrack.model.Attendance;
 import com.vertitrack.model.Employee;
 import com.vertitrack.repository.AttendanceRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Slf4j
 public class AttendanceService {
     
+    // Rows per multi-row upsert statement
+    private static final int BULK_MARK_CHUNK = 500;
+    
     private final AttendanceRepository attendanceRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AttendanceBitmapStore bitmapStore;
     
     public Attendance saveAttendance(Attendance attendance) {
-        return attendanceRepository.save(attendance);
+        // An edit may move the row to another month; loading it also lets the merge skip its select
+        if (attendance.getId() != null) {
+            attendanceRepository.findById(attendance.getId())
+                .ifPresent(existing -> bitmapStore.invalidate(existing.getAttendanceDate()));
+        }
+        Attendance saved = attendanceRepository.save(attendance);
+        bitmapStore.invalidate(saved.getAttendanceDate());
+        return saved;
     }
     
     public Optional<Attendance> findById(Long id) {
@@ -62,49 +85,60 @@ public class AttendanceService {
         return attendanceRepository.getMonthlyAttendanceByEmployee(employeeId, year, month);
     }
     
+    // Monthly counts and hours are served from the in-memory month bitmaps
     public long countPresentDaysByMonth(Long employeeId, int year, int month) {
-        return attendanceRepository.countPresentDaysByMonth(employeeId, year, month);
+        return bitmapStore.count(employeeId, YearMonth.of(year, month), Attendance.AttendanceStatus.PRESENT);
     }
     
     public long countAbsentDaysByMonth(Long employeeId, int year, int month) {
-        return attendanceRepository.countAbsentDaysByMonth(employeeId, year, month);
+        return bitmapStore.count(employeeId, YearMonth.of(year, month), Attendance.AttendanceStatus.ABSENT);
     }
     
     public long countLeavesByMonth(Long employeeId, int year, int month) {
-        return attendanceRepository.countLeavesByMonth(employeeId, year, month);
+        return bitmapStore.count(employeeId, YearMonth.of(year, month), Attendance.AttendanceStatus.LEAVE);
     }
     
     // Get complete monthly summary
     public Map<String, Long> getMonthlyAttendanceSummary(Long employeeId, int year, int month) {
+        Map<Attendance.AttendanceStatus, Integer> counts = bitmapStore.statusCounts(employeeId, YearMonth.of(year, month));
         Map<String, Long> summary = new HashMap<>();
-        summary.put("present", countPresentDaysByMonth(employeeId, year, month));
-        summary.put("absent", countAbsentDaysByMonth(employeeId, year, month));
-        summary.put("leaves", countLeavesByMonth(employeeId, year, month));
-        summary.put("halfDay", attendanceRepository.countByEmployeeMonthAndStatus(
-            employeeId, year, month, Attendance.AttendanceStatus.HALF_DAY));
-        summary.put("holiday", attendanceRepository.countByEmployeeMonthAndStatus(
-            employeeId, year, month, Attendance.AttendanceStatus.HOLIDAY));
-        summary.put("weekOff", attendanceRepository.countByEmployeeMonthAndStatus(
-            employeeId, year, month, Attendance.AttendanceStatus.WEEK_OFF));
+        summary.put("present", (long) counts.get(Attendance.AttendanceStatus.PRESENT));
+        summary.put("absent", (long) counts.get(Attendance.AttendanceStatus.ABSENT));
+        summary.put("leaves", (long) counts.get(Attendance.AttendanceStatus.LEAVE));
+        summary.put("halfDay", (long) counts.get(Attendance.AttendanceStatus.HALF_DAY));
+        summary.put("holiday", (long) counts.get(Attendance.AttendanceStatus.HOLIDAY));
+        summary.put("weekOff", (long) counts.get(Attendance.AttendanceStatus.WEEK_OFF));
         return summary;
     }
     
+    // Longest run of consecutive days with the status in a month
+    public int getLongestStreak(Long employeeId, int year, int month, Attendance.AttendanceStatus status) {
+        return bitmapStore.longestStreak(employeeId, YearMonth.of(year, month), status);
+    }
+    
     // Find daily absentees
     public List<Attendance> findAbsenteesByDate(LocalDate date) {
         return attendanceRepository.findAbsenteesByDate(date);
     }
     
+    public List<Long> findAbsentEmployeeIds(LocalDate date) {
+        return bitmapStore.absentOn(date);
+    }
+    
     // Work hours tracking
     public Double getTotalWorkHoursByMonth(Long employeeId, int year, int month) {
-        return attendanceRepository.getTotalWorkHoursByMonth(employeeId, year, month);
+        return bitmapStore.totalWorkHours(employeeId, YearMonth.of(year, month));
     }
     
     public Double getTotalOvertimeHoursByMonth(Long employeeId, int year, int month) {
-        return attendanceRepository.getTotalOvertimeHoursByMonth(employeeId, year, month);
+        return bitmapStore.totalOvertimeHours(employeeId, YearMonth.of(year, month));
     }
     
     public void deleteAttendance(Long id) {
-        attendanceRepository.deleteById(id);
+        attendanceRepository.findById(id).ifPresent(attendance -> {
+            attendanceRepository.delete(attendance);
+            bitmapStore.invalidate(attendance.getAttendanceDate());
+        });
     }
     
     // Business Logic
@@ -119,9 +153,61 @@ public class AttendanceService {
             attendance.setAttendanceDate(date);
             attendance.setStatus(status);
             attendanceRepository.save(attendance);
+            bitmapStore.invalidate(date);
         }
     }
     
+    /**
+     * Mark a whole day for many employees in a few statements
+     * Writes multi-row INSERT ... ON DUPLICATE KEY UPDATE on the (employee_id, attendance_date)
+     * unique key, so concurrent markings of the same day cannot collide and no Employee
+     * entity is loaded. An existing row gets the new status; its other fields are kept.
+     * Employee ids that do not exist are skipped (attendance has no database FK).
+     */
+    public BulkMarkResult markAttendanceBulk(LocalDate date, Map<Long, Attendance.AttendanceStatus> statusByEmployeeId) {
+        if (statusByEmployeeId.isEmpty()) {
+            return new BulkMarkResult(0, 0, List.of());
+        }
+        
+        // Ascending employee id, so concurrent upserts lock index entries in the same order
+        Map<Long, Attendance.AttendanceStatus> rows = new TreeMap<>(statusByEmployeeId);
+        Set<Long> known = existingEmployeeIds(rows.keySet());
+        List<Long> skipped = new ArrayList<>();
+        rows.keySet().removeIf(employeeId -> {
+            if (known.contains(employeeId)) return false;
+            skipped.add(employeeId);
+            return true;
+        });
+        
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map.Entry<Long, Attendance.AttendanceStatus>> entries = new ArrayList<>(rows.entrySet());
+        int inserted = 0;
+        int updated = 0;
+        for (int from = 0; from < entries.size(); from += BULK_MARK_CHUNK) {
+            List<Map.Entry<Long, Attendance.AttendanceStatus>> chunk =
+                entries.subList(from, Math.min(from + BULK_MARK_CHUNK, entries.size()));
+            Object[] args = new Object[chunk.size() * 5];
+            int i = 0;
+            for (Map.Entry<Long, Attendance.AttendanceStatus> entry : chunk) {
+                args[i++] = entry.getKey();
+                args[i++] = Date.valueOf(date);
+                args[i++] = entry.getValue().name();
+                args[i++] = now;
+                args[i++] = now;
+            }
+            // MySQL counts 1 per inserted row and 2 per updated row; updated_at always changes
+            int affected = jdbcTemplate.update(upsertSql(chunk.size()), args);
+            int chunkUpdated = affected - chunk.size();
+            updated += chunkUpdated;
+            inserted += chunk.size() - chunkUpdated;
+        }
+        bitmapStore.invalidate(date);
+        
+        log.info("Marked attendance for {} on {}: {} inserted, {} updated, {} unknown employees skipped",
+            entries.size(), date, inserted, updated, skipped.size());
+        return new BulkMarkResult(inserted, updated, skipped);
+    }
+    
     // Calculate working days in a month
     public int getWorkingDaysInMonth(int year, int month) {
         YearMonth yearMonth = YearMonth.of(year, month);
@@ -137,4 +223,50 @@ public class AttendanceService {
         }
         return workingDays;
     }
+    
+    // Helper methods
+    private Set<Long> existingEmployeeIds(Set<Long> employeeIds) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> ids = new ArrayList<>(employeeIds);
+        for (int from = 0; from < ids.size(); from += BULK_MARK_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + BULK_MARK_CHUNK, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            existing.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM employees WHERE id IN (" + placeholders + ")", Long.class, chunk.toArray()));
+        }
+        return existing;
+    }
+    
+    private static String upsertSql(int rows) {
+        return "INSERT INTO attendance (employee_id, attendance_date, status, created_at, updated_at, version) VALUES " +
+            String.join(", ", Collections.nCopies(rows, "(?, ?, ?, ?, ?, 0)")) +
+            " ON DUPLICATE KEY UPDATE status = VALUES(status), updated_at = VALUES(updated_at), version = version + 1";
+    }
+    
+    /**
+     * Outcome of markAttendanceBulk
+     */
+    public static class BulkMarkResult {
+        private final int inserted;
+        private final int updated;
+        private final List<Long> skippedEmployeeIds;
+        
+        public BulkMarkResult(int inserted, int updated, List<Long> skippedEmployeeIds) {
+            this.inserted = inserted;
+            this.updated = updated;
+            this.skippedEmployeeIds = skippedEmployeeIds;
+        }
+        
+        public int getInserted() {
+            return inserted;
+        }
+        
+        public int getUpdated() {
+            return updated;
+        }
+        
+        public List<Long> getSkippedEmployeeIds() {
+            return skippedEmployeeIds;
+        }
+    }
 }
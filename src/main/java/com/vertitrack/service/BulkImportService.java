@@ -0,0 +1,616 @@
+package com.vertitrack.service;
+
+import com.vertitrack.config.CacheConfig;
+import com.vertitrack.model.Attendance;
+import com.vertitrack.model.Expense;
+import com.vertitrack.model.Lift;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bulk Import Service - High-throughput CSV import for lifts, expenses and attendance
+ *
+ * Pipeline stages, connected by bounded queues of row chunks for backpressure:
+ *   1. parse + validate   (reader thread)
+ *   2. resolve references (liftNumber -> lift id, employeeCode -> employee id) with one IN query per chunk
+ *   3. write              (calling thread) as JDBC batches, one transaction per chunk
+ *
+ * A chunk that fails to write is rolled back and retried row by row so that only the
+ * offending rows are rejected. Every rejected row ends up in the ImportReport.
+ * CSV headers match the ones written by ExportService; column order is free.
+ */
+@Service
+@Lazy
+@RequiredArgsConstructor
+@Slf4j
+public class BulkImportService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final DashboardMetrics dashboardMetrics;
+    private final CacheManager cacheManager;
+    private final AttendanceBitmapStore attendanceBitmapStore;
+    private final FleetCostService fleetCostService;
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int QUEUE_CAPACITY = 8;
+    private static final List<StagedRow> END_OF_INPUT = new ArrayList<>();
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private static final String INSERT_LIFT =
+        "INSERT INTO lifts (lift_number, location, building, lift_type, capacity, floors, manufacturer, model, " +
+        "amc_start_date, amc_end_date, amc_renewal_date, amc_amount, quarterly_amount, " +
+        "contractor_name, contractor_contact, contractor_email, status, created_at, updated_at, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final int[] LIFT_TYPES = {
+        Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.VARCHAR,
+        Types.DATE, Types.DATE, Types.DATE, Types.DOUBLE, Types.DOUBLE,
+        Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    private static final String INSERT_EXPENSE =
+        "INSERT INTO expenses (expense_date, expense_type, category, amount, paid_to, lift_id, employee_id, " +
+        "description, payment_mode, invoice_number, payment_status, is_recurring, created_at, updated_at, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final int[] EXPENSE_TYPES = {
+        Types.DATE, Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.VARCHAR, Types.BIGINT, Types.BIGINT,
+        Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    // Re-importing a day overwrites it, using the (employee_id, attendance_date) unique key
+    private static final String UPSERT_ATTENDANCE =
+        "INSERT INTO attendance (employee_id, attendance_date, status, check_in_time, check_out_time, " +
+        "work_hours, overtime_hours, leave_type, remarks, created_at, updated_at, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0) " +
+        "ON DUPLICATE KEY UPDATE status = VALUES(status), check_in_time = VALUES(check_in_time), " +
+        "check_out_time = VALUES(check_out_time), work_hours = VALUES(work_hours), " +
+        "overtime_hours = VALUES(overtime_hours), leave_type = VALUES(leave_type), " +
+        "remarks = VALUES(remarks), updated_at = VALUES(updated_at), version = version + 1";
+    private static final int[] ATTENDANCE_TYPES = {
+        Types.BIGINT, Types.DATE, Types.VARCHAR, Types.TIME, Types.TIME,
+        Types.DOUBLE, Types.DOUBLE, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    /**
+     * Import lifts. Lift numbers that already exist (in the database or earlier in the file) are rejected.
+     */
+    public ImportReport importLiftsFromCSV(String filePath) throws IOException {
+        ImportSpec spec = new ImportSpec("Lift", INSERT_LIFT, LIFT_TYPES, this::parseLift);
+        spec.newLiftNumbers = true;
+        return runPipeline(Paths.get(filePath), spec);
+    }
+
+    /**
+     * Import expenses. "Lift Number" and "Employee Code" columns are optional references.
+     */
+    public ImportReport importExpensesFromCSV(String filePath) throws IOException {
+        ImportSpec spec = new ImportSpec("Expense", INSERT_EXPENSE, EXPENSE_TYPES, this::parseExpense);
+        spec.liftIdIndex = 5;
+        spec.employeeIdIndex = 6;
+        return runPipeline(Paths.get(filePath), spec);
+    }
+
+    /**
+     * Import attendance. "Employee Code" is required; existing days are overwritten.
+     */
+    public ImportReport importAttendanceFromCSV(String filePath) throws IOException {
+        ImportSpec spec = new ImportSpec("Attendance", UPSERT_ATTENDANCE, ATTENDANCE_TYPES, this::parseAttendance);
+        spec.employeeIdIndex = 0;
+        ImportReport report = runPipeline(Paths.get(filePath), spec);
+        if (report.getImportedRows() > 0) {
+            // Rows may span any months
+            attendanceBitmapStore.invalidateAll();
+        }
+        return report;
+    }
+
+    // Pipeline
+    private ImportReport runPipeline(Path path, ImportSpec spec) throws IOException {
+        ImportReport report = new ImportReport(spec.entityName);
+        BlockingQueue<List<StagedRow>> parsed = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        BlockingQueue<List<StagedRow>> resolved = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long startNanos = System.nanoTime();
+
+        ExecutorService stages = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> parser = stages.submit(() -> {
+                parseStage(path, spec, report, parsed);
+                return null;
+            });
+            Future<?> resolver = stages.submit(() -> {
+                resolveStage(spec, report, parsed, resolved);
+                return null;
+            });
+
+            while (true) {
+                List<StagedRow> chunk = resolved.poll(1, TimeUnit.SECONDS);
+                if (chunk == null) {
+                    // Surface a failed upstream stage instead of waiting forever
+                    checkStage(parser);
+                    checkStage(resolver);
+                    continue;
+                }
+                if (chunk == END_OF_INPUT) {
+                    break;
+                }
+                writeChunk(spec, chunk, report, transactionTemplate);
+            }
+            parser.get();
+            resolver.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(spec.entityName + " import interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(spec.entityName + " import failed", e.getCause());
+        } finally {
+            stages.shutdownNow();
+        }
+
+        report.finish((System.nanoTime() - startNanos) / 1_000_000);
+        log.info("{} from {}", report, path);
+        
+        // JDBC batches bypass the entity events that keep the dashboard figures current,
+        // and the service methods that evict cached lifts
+        if (report.getImportedRows() > 0) {
+            dashboardMetrics.reconcile();
+            if (spec.newLiftNumbers || spec.liftIdIndex >= 0) {
+                fleetCostService.dataChanged();
+            }
+            if (spec.newLiftNumbers) {
+                clearCaches(CacheConfig.LIFT_COUNTS);
+            }
+        }
+        return report;
+    }
+
+    private void clearCaches(String... cacheNames) {
+        for (String name : cacheNames) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private void checkStage(Future<?> stage) throws ExecutionException, InterruptedException {
+        if (stage.isDone()) {
+            stage.get();
+        }
+    }
+
+    private void parseStage(Path path, ImportSpec spec, ImportReport report,
+                            BlockingQueue<List<StagedRow>> out) throws IOException, InterruptedException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8), 1024 * 1024)) {
+            long[] lineCounter = {0};
+            List<String> headerFields = readRecord(reader, lineCounter);
+            if (headerFields == null) {
+                out.put(END_OF_INPUT);
+                return;
+            }
+            Map<String, Integer> header = new HashMap<>();
+            for (int i = 0; i < headerFields.size(); i++) {
+                String name = headerFields.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                header.putIfAbsent(name, i);
+            }
+
+            List<StagedRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (true) {
+                long lineNumber = lineCounter[0] + 1;
+                List<String> fields = readRecord(reader, lineCounter);
+                if (fields == null) break;
+                if (fields.size() == 1 && fields.get(0).isBlank()) continue;
+
+                report.rowRead();
+                try {
+                    chunk.add(spec.parser.parse(lineNumber, new CsvRecord(header, fields)));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    report.rowFailed(lineNumber, e.getMessage());
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    out.put(chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                out.put(chunk);
+            }
+            out.put(END_OF_INPUT);
+        }
+    }
+
+    private void resolveStage(ImportSpec spec, ImportReport report, BlockingQueue<List<StagedRow>> in,
+                              BlockingQueue<List<StagedRow>> out) throws InterruptedException {
+        Map<String, Long> liftIds = new HashMap<>();
+        Map<String, Long> employeeIds = new HashMap<>();
+        Set<String> missingLifts = new HashSet<>();
+        Set<String> missingEmployees = new HashSet<>();
+        Set<String> seenLiftNumbers = new HashSet<>();
+
+        while (true) {
+            List<StagedRow> chunk = in.take();
+            if (chunk == END_OF_INPUT) {
+                out.put(END_OF_INPUT);
+                return;
+            }
+
+            if (spec.newLiftNumbers || spec.liftIdIndex >= 0) {
+                lookupIds("SELECT id, lift_number FROM lifts WHERE lift_number IN (:keys) ORDER BY id",
+                    chunk, row -> row.liftNumber, liftIds, missingLifts);
+            }
+            if (spec.employeeIdIndex >= 0) {
+                lookupIds("SELECT id, employee_code FROM employees WHERE employee_code IN (:keys)",
+                    chunk, row -> row.employeeCode, employeeIds, missingEmployees);
+            }
+
+            List<StagedRow> ready = new ArrayList<>(chunk.size());
+            for (StagedRow row : chunk) {
+                String error = null;
+                if (spec.newLiftNumbers) {
+                    if (liftIds.containsKey(row.liftNumber) || !seenLiftNumbers.add(row.liftNumber)) {
+                        error = "Lift number already exists: " + row.liftNumber;
+                    }
+                } else if (spec.liftIdIndex >= 0 && row.liftNumber != null) {
+                    Long id = liftIds.get(row.liftNumber);
+                    if (id == null) {
+                        error = "Unknown lift number: " + row.liftNumber;
+                    } else {
+                        row.values[spec.liftIdIndex] = id;
+                    }
+                }
+                if (error == null && spec.employeeIdIndex >= 0 && row.employeeCode != null) {
+                    Long id = employeeIds.get(row.employeeCode);
+                    if (id == null) {
+                        error = "Unknown employee code: " + row.employeeCode;
+                    } else {
+                        row.values[spec.employeeIdIndex] = id;
+                    }
+                }
+
+                if (error != null) {
+                    report.rowFailed(row.lineNumber, error);
+                } else {
+                    ready.add(row);
+                }
+            }
+            if (!ready.isEmpty()) {
+                out.put(ready);
+            }
+        }
+    }
+
+    private void lookupIds(String sql, List<StagedRow> chunk, Function<StagedRow, String> key,
+                           Map<String, Long> cache, Set<String> missing) {
+        Set<String> keys = new HashSet<>();
+        for (StagedRow row : chunk) {
+            String value = key.apply(row);
+            if (value != null && !cache.containsKey(value) && !missing.contains(value)) {
+                keys.add(value);
+            }
+        }
+        if (keys.isEmpty()) return;
+
+        namedJdbcTemplate.query(sql, Map.of("keys", keys),
+            rs -> { cache.putIfAbsent(rs.getString(2), rs.getLong(1)); });
+        for (String value : keys) {
+            if (!cache.containsKey(value)) {
+                missing.add(value);
+            }
+        }
+    }
+
+    private void writeChunk(ImportSpec spec, List<StagedRow> rows, ImportReport report,
+                            TransactionTemplate transactionTemplate) {
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (StagedRow row : rows) {
+            batch.add(row.values);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(spec.sql, batch, spec.sqlTypes));
+            report.rowsImported(rows.size());
+        } catch (DataAccessException e) {
+            // Chunk rolled back; retry row by row to isolate the rejected rows
+            log.warn("{} import chunk failed, retrying {} rows individually: {}",
+                spec.entityName, rows.size(), e.getMostSpecificCause().getMessage());
+            for (StagedRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.update(spec.sql, row.values, spec.sqlTypes));
+                    report.rowsImported(1);
+                } catch (DataAccessException rowError) {
+                    report.rowFailed(row.lineNumber, rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    // Row parsers - parse and validate one record into insert parameters
+    private StagedRow parseLift(long lineNumber, CsvRecord record) {
+        String liftNumber = record.required("Lift Number");
+        LocalDate amcStart = parseDate(record.required("AMC Start Date"), "AMC Start Date");
+        LocalDate amcEnd = parseDate(record.required("AMC End Date"), "AMC End Date");
+        LocalDate amcRenewal = parseDate(record.required("AMC Renewal Date"), "AMC Renewal Date");
+        if (amcEnd.isBefore(amcStart)) {
+            throw new IllegalArgumentException("AMC End Date is before AMC Start Date");
+        }
+        String status = record.get("Status");
+        LocalDateTime now = LocalDateTime.now();
+
+        StagedRow row = new StagedRow(lineNumber, new Object[] {
+            liftNumber,
+            record.required("Location"),
+            record.get("Building"),
+            record.get("Type", "Lift Type"),
+            parseInteger(record.get("Capacity"), "Capacity"),
+            parseInteger(record.get("Floors"), "Floors"),
+            record.get("Manufacturer"),
+            record.get("Model"),
+            amcStart,
+            amcEnd,
+            amcRenewal,
+            parseAmount(record.get("AMC Amount"), "AMC Amount"),
+            parseAmount(record.get("Quarterly Amount"), "Quarterly Amount"),
+            record.get("Contractor Name"),
+            record.get("Contractor Contact"),
+            record.get("Contractor Email"),
+            status != null ? parseEnum(Lift.LiftStatus.class, status, "Status").name() : Lift.LiftStatus.ACTIVE.name(),
+            now,
+            now
+        });
+        row.liftNumber = liftNumber;
+        return row;
+    }
+
+    private StagedRow parseExpense(long lineNumber, CsvRecord record) {
+        Double amount = parseAmount(record.required("Amount"), "Amount");
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount must not be negative");
+        }
+        String paymentStatus = record.get("Payment Status", "Status");
+        LocalDateTime now = LocalDateTime.now();
+
+        StagedRow row = new StagedRow(lineNumber, new Object[] {
+            parseDate(record.required("Date", "Expense Date"), "Date"),
+            parseEnum(Expense.ExpenseType.class, record.required("Type", "Expense Type"), "Type").name(),
+            record.required("Category"),
+            amount,
+            record.get("Paid To"),
+            null, // lift_id, resolved from Lift Number
+            null, // employee_id, resolved from Employee Code
+            record.get("Description"),
+            record.get("Payment Mode"),
+            record.get("Invoice Number"),
+            paymentStatus != null
+                ? parseEnum(Expense.PaymentStatus.class, paymentStatus, "Payment Status").name()
+                : Expense.PaymentStatus.PAID.name(),
+            Boolean.FALSE,
+            now,
+            now
+        });
+        row.liftNumber = record.get("Lift Number", "Lift");
+        row.employeeCode = record.get("Employee Code");
+        return row;
+    }
+
+    private StagedRow parseAttendance(long lineNumber, CsvRecord record) {
+        String leaveType = record.get("Leave Type");
+        LocalDateTime now = LocalDateTime.now();
+
+        StagedRow row = new StagedRow(lineNumber, new Object[] {
+            null, // employee_id, resolved from Employee Code
+            parseDate(record.required("Date", "Attendance Date"), "Date"),
+            parseEnum(Attendance.AttendanceStatus.class, record.required("Status"), "Status").name(),
+            parseTime(record.get("Check In"), "Check In"),
+            parseTime(record.get("Check Out"), "Check Out"),
+            parseAmount(record.get("Work Hours"), "Work Hours"),
+            parseAmount(record.get("Overtime Hours"), "Overtime Hours"),
+            leaveType != null ? parseEnum(Attendance.LeaveType.class, leaveType, "Leave Type").name() : null,
+            record.get("Remarks"),
+            now,
+            now
+        });
+        row.employeeCode = record.required("Employee Code");
+        return row;
+    }
+
+    // Field parsing helpers
+    private LocalDate parseDate(String value, String field) {
+        if (value == null) return null;
+        try {
+            return LocalDate.parse(value, DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException iso) {
+                throw new IllegalArgumentException("Invalid " + field + ": " + value);
+            }
+        }
+    }
+
+    private LocalTime parseTime(String value, String field) {
+        if (value == null) return null;
+        try {
+            return LocalTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private Integer parseInteger(String value, String field) {
+        if (value == null) return null;
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private Double parseAmount(String value, String field) {
+        if (value == null) return null;
+        try {
+            return Double.valueOf(value.replace("₹", "").replace(",", "").trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT).replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    /**
+     * Read one CSV record, following quoted fields across line breaks
+     */
+    private List<String> readRecord(BufferedReader reader, long[] lineCounter) throws IOException {
+        String line = reader.readLine();
+        if (line == null) return null;
+        lineCounter[0]++;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) break;
+            line = reader.readLine();
+            if (line == null) break;
+            lineCounter[0]++;
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        StagedRow parse(long lineNumber, CsvRecord record);
+    }
+
+    private static class ImportSpec {
+        private final String entityName;
+        private final String sql;
+        private final int[] sqlTypes;
+        private final RowParser parser;
+        private boolean newLiftNumbers;
+        private int liftIdIndex = -1;
+        private int employeeIdIndex = -1;
+
+        ImportSpec(String entityName, String sql, int[] sqlTypes, RowParser parser) {
+            this.entityName = entityName;
+            this.sql = sql;
+            this.sqlTypes = sqlTypes;
+            this.parser = parser;
+        }
+    }
+
+    private static class StagedRow {
+        private final long lineNumber;
+        private final Object[] values;
+        private String liftNumber;
+        private String employeeCode;
+
+        StagedRow(long lineNumber, Object[] values) {
+            this.lineNumber = lineNumber;
+            this.values = values;
+        }
+    }
+
+    private static class CsvRecord {
+        private final Map<String, Integer> header;
+        private final List<String> fields;
+
+        CsvRecord(Map<String, Integer> header, List<String> fields) {
+            this.header = header;
+            this.fields = fields;
+        }
+
+        /**
+         * First non-empty value among the given column names, or null
+         */
+        String get(String... names) {
+            for (String name : names) {
+                Integer index = header.get(name.toLowerCase(Locale.ROOT));
+                if (index != null && index < fields.size()) {
+                    String value = fields.get(index).trim();
+                    if (!value.isEmpty()) return value;
+                }
+            }
+            return null;
+        }
+
+        String required(String... names) {
+            String value = get(names);
+            if (value == null) {
+                throw new IllegalArgumentException(names[0] + " is required");
+            }
+            return value;
+        }
+    }
+}
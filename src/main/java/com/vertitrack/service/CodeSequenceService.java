@@ -0,0 +1,127 @@
+package com.vertitrack.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Code Sequence Service - Block-allocating named sequences for business codes
+ *
+ * Each sequence is one row of code_sequences. An instance reserves a block of
+ * numbers with a single atomic UPDATE in its own short transaction and then
+ * hands them out from an AtomicLong with no database access, so concurrent
+ * users and instances never get the same number. Numbers are unique but not
+ * gap-free: unused numbers of a block are skipped after a restart.
+ *
+ * Per sequence, vertitrack.sequences.<name>.prefix and .width format the code
+ * (the number simply gets longer once it outgrows the width), and
+ * .block-size overrides vertitrack.sequences.block-size.
+ */
+@Service
+@Slf4j
+public class CodeSequenceService {
+
+    private static final String PROPERTY_PREFIX = "vertitrack.sequences.";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reserveTransaction;
+    private final Environment environment;
+    private final int defaultBlockSize;
+    private final Map<String, Sequence> sequences = new ConcurrentHashMap<>();
+
+    public CodeSequenceService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               Environment environment) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.environment = environment;
+        this.defaultBlockSize = environment.getProperty(PROPERTY_PREFIX + "block-size", Integer.class, 20);
+    }
+
+    /**
+     * Next formatted code, e.g. EMP042
+     * @param seed highest number already in use for the prefix; only called
+     *             when the sequence row does not exist yet
+     */
+    public String nextCode(String name, String defaultPrefix, int defaultWidth, ToLongFunction<String> seed) {
+        String prefix = environment.getProperty(PROPERTY_PREFIX + name + ".prefix", defaultPrefix);
+        int width = environment.getProperty(PROPERTY_PREFIX + name + ".width", Integer.class, defaultWidth);
+        long value = nextValue(name, () -> seed.applyAsLong(prefix));
+        return prefix + String.format("%0" + width + "d", value);
+    }
+
+    /**
+     * Next number of the sequence
+     */
+    public long nextValue(String name, LongSupplier seed) {
+        Sequence sequence = sequences.computeIfAbsent(name, key -> new Sequence());
+        while (true) {
+            Block block = sequence.block;
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return value;
+                }
+            }
+            synchronized (sequence) {
+                // Another thread may have reserved while we waited
+                if (sequence.block == block) {
+                    sequence.block = reserve(name, seed);
+                }
+            }
+        }
+    }
+
+    // Helper methods
+    private Block reserve(String name, LongSupplier seed) {
+        int blockSize = environment.getProperty(PROPERTY_PREFIX + name + ".block-size", Integer.class, defaultBlockSize);
+        Long end = reserveTransaction.execute(status -> {
+            if (advance(name, blockSize) == 0) {
+                // First use: start after the highest number already taken; a racing instance's insert wins
+                jdbcTemplate.update("INSERT IGNORE INTO code_sequences (sequence_name, next_value) VALUES (?, ?)",
+                    name, seed.getAsLong() + 1);
+                advance(name, blockSize);
+            }
+            return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        });
+        log.debug("Reserved {} numbers of sequence {} up to {}", blockSize, name, end - 1);
+        return new Block(end - blockSize, end);
+    }
+
+    // Row-locked increment; LAST_INSERT_ID(expr) hands the new value back on this connection
+    private int advance(String name, int blockSize) {
+        return jdbcTemplate.update(
+            "UPDATE code_sequences SET next_value = LAST_INSERT_ID(next_value + ?) WHERE sequence_name = ?",
+            blockSize, name);
+    }
+
+    /**
+     * The block an instance is currently handing out
+     */
+    private static class Sequence {
+        private volatile Block block;
+    }
+
+    /**
+     * Reserved numbers [next, end)
+     */
+    private static class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.vertitrack.service;
+
+import com.vertitrack.service.ColumnarSnapshotWriter.Column;
+import com.vertitrack.service.ColumnarSnapshotWriter.ColumnType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columnar Snapshot Reader - Reads files produced by ColumnarSnapshotWriter
+ * The file is memory-mapped; blocks whose date statistics fall outside the
+ * requested range are skipped without being decoded.
+ */
+public class ColumnarSnapshotReader {
+
+    private final MappedByteBuffer data;
+    private final String tableName;
+    private final List<Column> columns = new ArrayList<>();
+    private final List<String[]> dictionaries = new ArrayList<>();
+    private final List<BlockInfo> blocks = new ArrayList<>();
+
+    private ColumnarSnapshotReader(MappedByteBuffer data) throws IOException {
+        this.data = data;
+
+        int trailerStart = data.limit() - 12;
+        if (trailerStart < 6 || data.getInt(0) != ColumnarSnapshotWriter.MAGIC
+                || data.getInt(trailerStart + 8) != ColumnarSnapshotWriter.MAGIC) {
+            throw new IOException("Not a VertiTrack columnar snapshot");
+        }
+        short version = data.getShort(4);
+        if (version != 1 && version != ColumnarSnapshotWriter.VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+
+        ByteBuffer footer = data.duplicate();
+        footer.position((int) data.getLong(trailerStart));
+        this.tableName = readString(footer);
+
+        int columnCount = footer.getInt();
+        ColumnType[] types = ColumnType.values();
+        for (int c = 0; c < columnCount; c++) {
+            String name = readString(footer);
+            columns.add(new Column(name, types[footer.get()]));
+        }
+        for (int c = 0; c < columnCount; c++) {
+            String[] dictionary = new String[footer.getInt() + 1]; // code 0 is null
+            for (int i = 1; i < dictionary.length; i++) {
+                dictionary[i] = readString(footer);
+            }
+            dictionaries.add(dictionary);
+        }
+        int blockCount = footer.getInt();
+        for (int b = 0; b < blockCount; b++) {
+            long offset = footer.getLong();
+            if (version == 1) {
+                footer.getInt(); // block length, never needed
+            }
+            BlockInfo block = new BlockInfo(offset, footer.getInt(), columnCount);
+            for (int c = 0; c < columnCount; c++) {
+                block.min[c] = footer.getLong();
+                block.max[c] = footer.getLong();
+            }
+            blocks.add(block);
+        }
+    }
+
+    public static ColumnarSnapshotReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot larger than 2 GB: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            return new ColumnarSnapshotReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public int columnIndex(String name) {
+        for (int c = 0; c < columns.size(); c++) {
+            if (columns.get(c).getName().equals(name)) return c;
+        }
+        throw new IllegalArgumentException("Unknown column: " + name);
+    }
+
+    public long getRowCount() {
+        long total = 0;
+        for (BlockInfo block : blocks) {
+            total += block.rowCount;
+        }
+        return total;
+    }
+
+    /**
+     * Read every row
+     */
+    public Batch readAll() {
+        return read(-1, null, null);
+    }
+
+    /**
+     * Read rows whose date column falls in [from, to], skipping blocks by their statistics
+     */
+    public Batch readDateRange(String dateColumn, LocalDate from, LocalDate to) {
+        int column = columnIndex(dateColumn);
+        if (columns.get(column).getType() != ColumnType.DATE) {
+            throw new IllegalArgumentException("Column " + dateColumn + " is not a DATE column");
+        }
+        return read(column, from, to);
+    }
+
+    private Batch read(int dateColumn, LocalDate from, LocalDate to) {
+        long fromDay = from != null ? from.toEpochDay() : Long.MIN_VALUE + 1;
+        long toDay = to != null ? to.toEpochDay() : Long.MAX_VALUE;
+
+        List<BlockInfo> selected = new ArrayList<>();
+        int capacity = 0;
+        for (BlockInfo block : blocks) {
+            if (dateColumn < 0 || (block.max[dateColumn] >= fromDay && block.min[dateColumn] <= toDay)) {
+                selected.add(block);
+                capacity += block.rowCount;
+            }
+        }
+
+        int columnCount = columns.size();
+        long[][] values = new long[columnCount][capacity];
+        long[][] decoded = new long[columnCount][];
+        int rows = 0;
+        for (BlockInfo block : selected) {
+            ByteBuffer buffer = data.duplicate();
+            buffer.position((int) block.offset);
+            for (int c = 0; c < columnCount; c++) {
+                decoded[c] = decodeColumn(buffer, columns.get(c).getType(), block.rowCount);
+            }
+            for (int r = 0; r < block.rowCount; r++) {
+                if (dateColumn >= 0) {
+                    long day = decoded[dateColumn][r];
+                    if (day == ColumnarSnapshotWriter.NULL_VALUE || day < fromDay || day > toDay) {
+                        continue;
+                    }
+                }
+                for (int c = 0; c < columnCount; c++) {
+                    values[c][rows] = decoded[c][r];
+                }
+                rows++;
+            }
+        }
+        return new Batch(rows, values);
+    }
+
+    private long[] decodeColumn(ByteBuffer buffer, ColumnType type, int rowCount) {
+        long[] result = new long[rowCount];
+        long previous = 0;
+        for (int r = 0; r < rowCount; r++) {
+            long raw = readVarLong(buffer);
+            switch (type) {
+                case DATE:
+                case LONG:
+                    previous += unZigZag(raw);
+                    result[r] = previous;
+                    break;
+                case AMOUNT:
+                    result[r] = unZigZag(raw);
+                    break;
+                case STRING:
+                    result[r] = raw;
+                    break;
+            }
+        }
+        return result;
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+            shift += 7;
+        }
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decoded rows held as primitive column arrays
+     */
+    public class Batch {
+        private final int rowCount;
+        private final long[][] values;
+
+        private Batch(int rowCount, long[][] values) {
+            this.rowCount = rowCount;
+            this.values = values;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public boolean isNull(int row, int column) {
+            long value = values[column][row];
+            return columns.get(column).getType() == ColumnType.STRING
+                ? value == 0 : value == ColumnarSnapshotWriter.NULL_VALUE;
+        }
+
+        public LocalDate getDate(int row, int column) {
+            return isNull(row, column) ? null : LocalDate.ofEpochDay(values[column][row]);
+        }
+
+        public long getEpochDay(int row, int column) {
+            return values[column][row];
+        }
+
+        public Long getLong(int row, int column) {
+            return isNull(row, column) ? null : values[column][row];
+        }
+
+        public Double getAmount(int row, int column) {
+            return isNull(row, column) ? null : values[column][row] / (double) ColumnarSnapshotWriter.AMOUNT_SCALE;
+        }
+
+        /**
+         * Fixed-point amount in hundredths, for summing without rounding error
+         */
+        public long getAmountHundredths(int row, int column) {
+            return isNull(row, column) ? 0 : values[column][row];
+        }
+
+        public String getString(int row, int column) {
+            return dictionaries.get(column)[(int) values[column][row]];
+        }
+
+        public int getDictionaryCode(int row, int column) {
+            return (int) values[column][row];
+        }
+
+        public String[] getDictionary(int column) {
+            return dictionaries.get(column);
+        }
+    }
+
+    private static class BlockInfo {
+        private final long offset;
+        private final int rowCount;
+        private final long[] min;
+        private final long[] max;
+
+        BlockInfo(long offset, int rowCount, int columnCount) {
+            this.offset = offset;
+            this.rowCount = rowCount;
+            this.min = new long[columnCount];
+            this.max = new long[columnCount];
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.vertitrack.service;
+
+import com.vertitrack.model.Employee;
+import com.vertitrack.model.Expense;
+import com.vertitrack.model.Lift;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dashboard Metrics - Headline figures kept in memory
+ *
+ * All figures are loaded with one aggregate query once the application is
+ * ready (so the context does not wait on the Hibernate bootstrap) and then kept
+ * current from Hibernate post-commit insert, update and delete events, so a
+ * dashboard refresh never touches MySQL. Changes that bypass Hibernate
+ * (bulk JDBC imports, manual SQL) are picked up by the periodic reconciliation,
+ * which reloads the figures and logs any drift. The month rolling over also
+ * forces a reload.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardMetrics {
+
+    private static final String LOAD_METRICS =
+        "SELECT " +
+        "(SELECT COUNT(*) FROM lifts), " +
+        "(SELECT COUNT(*) FROM lifts WHERE status = 'ACTIVE'), " +
+        "(SELECT COUNT(*) FROM employees WHERE status = 'ACTIVE'), " +
+        "(SELECT COALESCE(SUM(amount), 0) FROM expenses WHERE expense_date BETWEEN ? AND ?)";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final LongAdder totalLifts = new LongAdder();
+    private final LongAdder activeLifts = new LongAdder();
+    private final LongAdder activeEmployees = new LongAdder();
+    private final DoubleAdder monthlyExpenses = new DoubleAdder();
+    private volatile YearMonth month;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        EntityChangeListener listener = new EntityChangeListener();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+
+        reconcile();
+    }
+
+    /**
+     * Current figures, read from memory
+     */
+    public Snapshot snapshot() {
+        if (!YearMonth.now().equals(month)) {
+            reconcile();
+        }
+        return new Snapshot(totalLifts.sum(), activeLifts.sum(), activeEmployees.sum(), monthlyExpenses.sum());
+    }
+
+    /**
+     * Reload every figure from the database in one round trip
+     * Events racing with the query may be counted twice or not at all until the next run.
+     */
+    @Scheduled(fixedDelay = 15 * 60 * 1000, initialDelay = 15 * 60 * 1000)
+    public synchronized void reconcile() {
+        YearMonth current = YearMonth.now();
+        Snapshot loaded = jdbcTemplate.queryForObject(LOAD_METRICS,
+            (rs, rowNum) -> new Snapshot(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getDouble(4)),
+            Date.valueOf(current.atDay(1)), Date.valueOf(current.atEndOfMonth()));
+
+        if (current.equals(month)) {
+            logDrift(loaded);
+        }
+        reset(totalLifts, loaded.getTotalLifts());
+        reset(activeLifts, loaded.getActiveLifts());
+        reset(activeEmployees, loaded.getActiveEmployees());
+        monthlyExpenses.reset();
+        monthlyExpenses.add(loaded.getMonthlyExpenses());
+        month = current;
+    }
+
+    // Event handling
+    private void onInsert(Object entity) {
+        if (entity instanceof Lift lift) {
+            totalLifts.increment();
+            if (lift.getStatus() == Lift.LiftStatus.ACTIVE) activeLifts.increment();
+        } else if (entity instanceof Employee employee) {
+            if (employee.getStatus() == Employee.EmployeeStatus.ACTIVE) activeEmployees.increment();
+        } else if (entity instanceof Expense expense) {
+            addExpense(expense.getExpenseDate(), expense.getAmount(), 1);
+        }
+    }
+
+    private void onDelete(Object entity) {
+        if (entity instanceof Lift lift) {
+            totalLifts.decrement();
+            if (lift.getStatus() == Lift.LiftStatus.ACTIVE) activeLifts.decrement();
+        } else if (entity instanceof Employee employee) {
+            if (employee.getStatus() == Employee.EmployeeStatus.ACTIVE) activeEmployees.decrement();
+        } else if (entity instanceof Expense expense) {
+            addExpense(expense.getExpenseDate(), expense.getAmount(), -1);
+        }
+    }
+
+    private void onUpdate(Object entity, Object[] oldState, EntityPersister persister) {
+        if (!(entity instanceof Lift || entity instanceof Employee || entity instanceof Expense)) return;
+        if (oldState == null) {
+            // Updated without a loaded snapshot; the old values are unknown
+            month = null;
+            return;
+        }
+        if (entity instanceof Lift lift) {
+            boolean wasActive = stateOf(oldState, persister, "status") == Lift.LiftStatus.ACTIVE;
+            boolean isActive = lift.getStatus() == Lift.LiftStatus.ACTIVE;
+            if (wasActive != isActive) activeLifts.add(isActive ? 1 : -1);
+        } else if (entity instanceof Employee employee) {
+            boolean wasActive = stateOf(oldState, persister, "status") == Employee.EmployeeStatus.ACTIVE;
+            boolean isActive = employee.getStatus() == Employee.EmployeeStatus.ACTIVE;
+            if (wasActive != isActive) activeEmployees.add(isActive ? 1 : -1);
+        } else if (entity instanceof Expense expense) {
+            addExpense((LocalDate) stateOf(oldState, persister, "expenseDate"), (Double) stateOf(oldState, persister, "amount"), -1);
+            addExpense(expense.getExpenseDate(), expense.getAmount(), 1);
+        }
+    }
+
+    // Helper methods
+    private void addExpense(LocalDate date, Double amount, int sign) {
+        if (date != null && amount != null && YearMonth.from(date).equals(month)) {
+            monthlyExpenses.add(sign * amount);
+        }
+    }
+
+    private static Object stateOf(Object[] state, EntityPersister persister, String property) {
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(property)) return state[i];
+        }
+        throw new IllegalArgumentException("No property " + property + " on " + persister.getEntityName());
+    }
+
+    private static void reset(LongAdder adder, long value) {
+        adder.reset();
+        adder.add(value);
+    }
+
+    private void logDrift(Snapshot loaded) {
+        long liftDrift = totalLifts.sum() - loaded.getTotalLifts();
+        long activeLiftDrift = activeLifts.sum() - loaded.getActiveLifts();
+        long employeeDrift = activeEmployees.sum() - loaded.getActiveEmployees();
+        double expenseDrift = monthlyExpenses.sum() - loaded.getMonthlyExpenses();
+        if (liftDrift != 0 || activeLiftDrift != 0 || employeeDrift != 0 || Math.abs(expenseDrift) >= 0.01) {
+            log.info("Dashboard metrics drift corrected: lifts {}, active lifts {}, active employees {}, monthly expenses {}",
+                liftDrift, activeLiftDrift, employeeDrift, String.format("%.2f", expenseDrift));
+        }
+    }
+
+    /**
+     * Hibernate listener; runs only after the transaction has committed
+     */
+    private class EntityChangeListener implements PostCommitInsertEventListener,
+            PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            onInsert(event.getEntity());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            onUpdate(event.getEntity(), event.getOldState(), event.getPersister());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            onDelete(event.getEntity());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return true;
+        }
+    }
+
+    /**
+     * Headline figures at one point in time
+     */
+    public static class Snapshot {
+        private final long totalLifts;
+        private final long activeLifts;
+        private final long activeEmployees;
+        private final double monthlyExpenses;
+
+        public Snapshot(long totalLifts, long activeLifts, long activeEmployees, double monthlyExpenses) {
+            this.totalLifts = totalLifts;
+            this.activeLifts = activeLifts;
+            this.activeEmployees = activeEmployees;
+            this.monthlyExpenses = monthlyExpenses;
+        }
+
+        public long getTotalLifts() {
+            return totalLifts;
+        }
+
+        public long getActiveLifts() {
+            return activeLifts;
+        }
+
+        public long getActiveEmployees() {
+            return activeEmployees;
+        }
+
+        public double getMonthlyExpenses() {
+            return monthlyExpenses;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.vertitrack.service;
+
+import com.vertitrack.model.*;
+import com.vertitrack.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static com.vertitrack.service.ExportService.escapeCSV;
+import static com.vertitrack.service.ExportService.formatDate;
+
+/**
+ * Delta Export Service - Incremental exports for downstream sync
+ * Each named export keeps a watermark; a run emits only rows created or updated
+ * after it, plus tombstones for rows deleted in the same window. The window
+ * starts OVERLAP before the watermark so rows committed late by a concurrent
+ * transaction are not missed - consumers must upsert by Id.
+ */
+@Service
+@Lazy
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class DeltaExportService {
+
+    private final ExportWatermarkRepository watermarkRepository;
+    private final DeletionTombstoneRepository tombstoneRepository;
+    private final LiftRepository liftRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ExpenseRepository expenseRepository;
+    private final ServiceRecordRepository serviceRecordRepository;
+    private final AttendanceRepository attendanceRepository;
+
+    static final Duration OVERLAP = Duration.ofMinutes(5);
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final DateTimeFormatter DIRECTORY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final String UPSERT = "UPSERT";
+
+    /**
+     * Export everything that changed since the last run of this export
+     * The first run has no watermark and exports every row.
+     */
+    public Path exportDelta(String exportName, String directory) throws IOException {
+        ExportWatermark watermark = watermarkRepository.findById(exportName).orElse(null);
+        LocalDateTime until = LocalDateTime.now();
+        LocalDateTime since = watermark != null ? watermark.getWatermark().minus(OVERLAP) : BEGINNING;
+
+        Path outputDir = Paths.get(directory, exportName + "_" + until.format(DIRECTORY_FORMATTER));
+        Files.createDirectories(outputDir);
+
+        long rows = 0;
+        rows += exportLifts(outputDir.resolve("lifts.csv"), liftRepository.findChangedBetween(since, until));
+        rows += exportEmployees(outputDir.resolve("employees.csv"), employeeRepository.findChangedBetween(since, until));
+        rows += exportExpenses(outputDir.resolve("expenses.csv"), expenseRepository.findChangedBetween(since, until));
+        rows += exportServiceRecords(outputDir.resolve("service_records.csv"), serviceRecordRepository.findChangedBetween(since, until));
+        rows += exportAttendance(outputDir.resolve("attendance.csv"), attendanceRepository.findChangedBetween(since, until));
+        rows += exportTombstones(outputDir.resolve("deletions.csv"), tombstoneRepository.findDeletedBetween(since, until));
+
+        if (watermark == null) {
+            watermark = new ExportWatermark();
+            watermark.setExportName(exportName);
+        }
+        watermark.setWatermark(until);
+        watermark.setLastRunAt(LocalDateTime.now());
+        watermark.setLastRowCount(rows);
+        watermarkRepository.save(watermark);
+
+        log.info("Delta export '{}' wrote {} rows changed between {} and {} to {}", exportName, rows, since, until, outputDir);
+        return outputDir;
+    }
+
+    /**
+     * Current watermark of an export, or null if it has never run
+     */
+    @Transactional(readOnly = true)
+    public LocalDateTime getWatermark(String exportName) {
+        return watermarkRepository.findById(exportName).map(ExportWatermark::getWatermark).orElse(null);
+    }
+
+    /**
+     * Forget the watermark so the next run is a full export
+     */
+    public void resetWatermark(String exportName) {
+        watermarkRepository.deleteById(exportName);
+    }
+
+    // Per-entity writers
+    private int exportLifts(Path path, List<Lift> lifts) throws IOException {
+        try (Writer writer = ExportSink.open(path)) {
+            writer.write("Op,Id,Lift Number,Location,Building,Type,Capacity,AMC Start Date,AMC End Date,AMC Amount,Contractor Name,Status,Updated At\n");
+            for (Lift lift : lifts) {
+                writer.write(String.join(",",
+                    UPSERT,
+                    String.valueOf(lift.getId()),
+                    escapeCSV(lift.getLiftNumber()),
+                    escapeCSV(lift.getLocation()),
+                    escapeCSV(lift.getBuilding()),
+                    escapeCSV(lift.getLiftType()),
+                    valueOf(lift.getCapacity()),
+                    formatDate(lift.getAmcStartDate()),
+                    formatDate(lift.getAmcEndDate()),
+                    valueOf(lift.getAmcAmount()),
+                    escapeCSV(lift.getContractorName()),
+                    valueOf(lift.getStatus()),
+                    formatTimestamp(lift.getUpdatedAt())) + "\n");
+            }
+        }
+        return lifts.size();
+    }
+
+    private int exportEmployees(Path path, List<Employee> employees) throws IOException {
+        try (Writer writer = ExportSink.open(path)) {
+            writer.write("Op,Id,Employee Code,First Name,Last Name,Designation,Department,Joining Date,Relieving Date,Salary,Status,Updated At\n");
+            for (Employee employee : employees) {
+                writer.write(String.join(",",
+                    UPSERT,
+                    String.valueOf(employee.getId()),
+                    escapeCSV(employee.getEmployeeCode()),
+                    escapeCSV(employee.getFirstName()),
+                    escapeCSV(employee.getLastName()),
+                    escapeCSV(employee.getDesignation()),
+                    escapeCSV(employee.getDepartment()),
+                    formatDate(employee.getJoiningDate()),
+                    formatDate(employee.getRelievingDate()),
+                    valueOf(employee.getSalary()),
+                    valueOf(employee.getStatus()),
+                    formatTimestamp(employee.getUpdatedAt())) + "\n");
+            }
+        }
+        return employees.size();
+    }
+
+    private int exportExpenses(Path path, List<Expense> expenses) throws IOException {
+        try (Writer writer = ExportSink.open(path)) {
+            writer.write("Op,Id,Date,Type,Category,Amount,Lift Id,Employee Id,Paid To,Payment Mode,Invoice Number,Payment Status,Updated At\n");
+            for (Expense expense : expenses) {
+                writer.write(String.join(",",
+                    UPSERT,
+                    String.valueOf(expense.getId()),
+                    formatDate(expense.getExpenseDate()),
+                    valueOf(expense.getExpenseType()),
+                    escapeCSV(expense.getCategory()),
+                    valueOf(expense.getAmount()),
+                    expense.getLift() != null ? String.valueOf(expense.getLift().getId()) : "",
+                    expense.getEmployee() != null ? String.valueOf(expense.getEmployee().getId()) : "",
+                    escapeCSV(expense.getPaidTo()),
+                    escapeCSV(expense.getPaymentMode()),
+                    escapeCSV(expense.getInvoiceNumber()),
+                    valueOf(expense.getPaymentStatus()),
+                    formatTimestamp(expense.getUpdatedAt())) + "\n");
+            }
+        }
+        return expenses.size();
+    }
+
+    private int exportServiceRecords(Path path, List<ServiceRecord> records) throws IOException {
+        try (Writer writer = ExportSink.open(path)) {
+            writer.write("Op,Id,Lift Id,Service Date,Service Type,Performed By,Labor Cost,Parts Cost,Total Cost,Status,Invoice Number,Updated At\n");
+            for (ServiceRecord record : records) {
+                writer.write(String.join(",",
+                    UPSERT,
+                    String.valueOf(record.getId()),
+                    record.getLift() != null ? String.valueOf(record.getLift().getId()) : "",
+                    formatDate(record.getServiceDate()),
+                    valueOf(record.getServiceType()),
+                    escapeCSV(record.getPerformedBy()),
+                    valueOf(record.getLaborCost()),
+                    valueOf(record.getPartsCost()),
+                    valueOf(record.getTotalCost()),
+                    valueOf(record.getStatus()),
+                    escapeCSV(record.getInvoiceNumber()),
+                    formatTimestamp(record.getUpdatedAt())) + "\n");
+            }
+        }
+        return records.size();
+    }
+
+    private int exportAttendance(Path path, List<Attendance> attendanceList) throws IOException {
+        try (Writer writer = ExportSink.open(path)) {
+            writer.write("Op,Id,Employee Id,Date,Status,Work Hours,Overtime Hours,Leave Type,Updated At\n");
+            for (Attendance attendance : attendanceList) {
+                writer.write(String.join(",",
+                    UPSERT,
+                    String.valueOf(attendance.getId()),
+                    attendance.getEmployee() != null ? String.valueOf(attendance.getEmployee().getId()) : "",
+                    formatDate(attendance.getAttendanceDate()),
+                    valueOf(attendance.getStatus()),
+                    valueOf(attendance.getWorkHours()),
+                    valueOf(attendance.getOvertimeHours()),
+                    valueOf(attendance.getLeaveType()),
+                    formatTimestamp(attendance.getUpdatedAt())) + "\n");
+            }
+        }
+        return attendanceList.size();
+    }
+
+    private int exportTombstones(Path path, List<DeletionTombstone> tombstones) throws IOException {
+        try (Writer writer = ExportSink.open(path)) {
+            writer.write("Op,Entity,Id,Deleted At\n");
+            for (DeletionTombstone tombstone : tombstones) {
+                writer.write(String.join(",",
+                    "DELETE",
+                    tombstone.getEntityType(),
+                    String.valueOf(tombstone.getEntityId()),
+                    formatTimestamp(tombstone.getDeletedAt())) + "\n");
+            }
+        }
+        return tombstones.size();
+    }
+
+    // Helper methods
+    private String valueOf(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private String formatTimestamp(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.format(TIMESTAMP_FORMATTER) : "";
+    }
+}
@@ -1,8 +1,13 @@
 package com.vertitrack.service;
 
+import com.vertitrack.config.CacheConfig;
 import com.vertitrack.model.Employee;
 import com.vertitrack.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,8 +19,12 @@ import java.util.Optional;
 @Transactional
 public class EmployeeService {
     
+    static final String EMPLOYEE_CODE_SEQUENCE = "employee-code";
+    
     private final EmployeeRepository employeeRepository;
+    private final CodeSequenceService codeSequenceService;
     
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEE_COUNTS, allEntries = true)
     public Employee saveEmployee(Employee employee) {
         return employeeRepository.save(employee);
     }
@@ -60,10 +69,36 @@ public class EmployeeService {
         return employeeRepository.searchEmployees(keyword);
     }
     
+    public List<Employee> findEmployeesByIds(List<Long> ids) {
+        return employeeRepository.findAllById(ids);
+    }
+    
+    /**
+     * One page of the paged employee table
+     * Seeks from the edge row of a loaded neighbouring page when there is one;
+     * a jump reads the page's ids from the index and then loads those rows.
+     */
+    public List<Employee> findEmployeesPage(int page, int pageSize, Sort sort, Employee after, Employee before) {
+        if (after != null) {
+            return KeysetPaging.after(employeeRepository, after, sort, pageSize);
+        }
+        if (before != null) {
+            return KeysetPaging.before(employeeRepository, before, sort, pageSize);
+        }
+        List<Long> ids = employeeRepository.findEmployeePageIds(PageRequest.of(page, pageSize, sort));
+        return KeysetPaging.inIdOrder(ids, employeeRepository.findAllById(ids), Employee::getId);
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEE_COUNTS, key = "'ALL'", sync = true)
+    public long countAllEmployees() {
+        return employeeRepository.count();
+    }
+    
     public List<Employee> findRelievedEmployees() {
         return employeeRepository.findRelievedEmployees();
     }
     
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEE_COUNTS, allEntries = true)
     public void deleteEmployee(Long id) {
         employeeRepository.deleteById(id);
     }
@@ -79,9 +114,8 @@ public class EmployeeService {
     
     // Business Logic
     public String generateEmployeeCode() {
-        // Generate employee code like EMP001, EMP002, etc.
-        long count = employeeRepository.count() + 1;
-        return String.format("EMP%03d", count);
+        // Generate employee code like EMP001, EMP002, etc. from a block-allocated sequence
+        return codeSequenceService.nextCode(EMPLOYEE_CODE_SEQUENCE, "EMP", 3, employeeRepository::findMaxCodeNumber);
     }
     
     public boolean isEmployeeActive(Employee employee) {
@@ -0,0 +1,46 @@
+package com.vertitrack.service;
+
+/**
+ * Enum Accumulator - Single-pass aggregation helper for report exports
+ * Keeps a primitive sum and count slot per enum constant, indexed by ordinal,
+ * so an export loop can build its summary while it streams rows.
+ */
+public final class EnumAccumulator<E extends Enum<E>> {
+
+    private final double[] sums;
+    private final long[] counts;
+
+    public EnumAccumulator(Class<E> enumType) {
+        int size = enumType.getEnumConstants().length;
+        this.sums = new double[size];
+        this.counts = new long[size];
+    }
+
+    /**
+     * Add a value to the slot for the key and count the row
+     */
+    public void add(E key, Double value) {
+        if (key == null) return;
+        int slot = key.ordinal();
+        counts[slot]++;
+        if (value != null) {
+            sums[slot] += value;
+        }
+    }
+
+    public double sum(E key) {
+        return sums[key.ordinal()];
+    }
+
+    public long count(E key) {
+        return counts[key.ordinal()];
+    }
+
+    public double totalSum() {
+        double total = 0.0;
+        for (double sum : sums) {
+            total += sum;
+        }
+        return total;
+    }
+}
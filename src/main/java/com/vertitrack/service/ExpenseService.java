@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,7 @@ import java.util.Optional;
 public class ExpenseService {
     
     private final ExpenseRepository expenseRepository;
+    private final PaymentScheduleService paymentScheduleService;
     
     public Expense saveExpense(Expense expense) {
         return expenseRepository.save(expense);
@@ -117,12 +119,25 @@ public class ExpenseService {
     }
     
     public void deleteExpense(Long id) {
+        paymentScheduleService.expenseDeleted(id);
         expenseRepository.deleteById(id);
     }
     
     // Business Logic
-    public void markAsOverdue(Expense expense) {
-        expense.setPaymentStatus(Expense.PaymentStatus.OVERDUE);
-        expenseRepository.save(expense);
+    public StateTransition.Result markAsOverdue(Long expenseId, long expectedVersion) {
+        LocalDateTime now = LocalDateTime.now();
+        return StateTransition.apply(expectedVersion,
+            version -> expenseRepository.markOverdueIfUnchanged(expenseId, version, now) == 1,
+            () -> currentState(expenseId));
+    }
+    
+    // Version and payment status of an expense, for retrying a transition
+    private StateTransition.Current currentState(Long expenseId) {
+        List<Object[]> rows = expenseRepository.findTransitionState(expenseId);
+        if (rows.isEmpty()) return null;
+        Object[] row = rows.get(0);
+        return new StateTransition.Current((Long) row[0],
+            row[1] == Expense.PaymentStatus.PENDING,
+            row[1] == Expense.PaymentStatus.OVERDUE);
     }
 }
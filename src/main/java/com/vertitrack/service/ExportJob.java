@@ -0,0 +1,175 @@
+package com.vertitrack.service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Export Job - Handle for an export running in ExportJobManager
+ * Progress getters are safe to poll from the UI thread; getCompletion()
+ * completes with the written file, or exceptionally on failure or cancellation.
+ */
+public class ExportJob implements ExportProgress {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private final long id;
+    private final String description;
+    private final Path outputPath;
+    private final CompletableFuture<Path> completion = new CompletableFuture<>();
+    private final AtomicLong rowsWritten = new AtomicLong();
+
+    private volatile State state = State.QUEUED;
+    private volatile long totalRows = -1;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile boolean cancelRequested;
+    private volatile Future<?> future;
+
+    ExportJob(long id, String description, Path outputPath) {
+        this.id = id;
+        this.description = description;
+        this.outputPath = outputPath;
+    }
+
+    // ExportProgress - called from the export thread
+    @Override
+    public void start(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    @Override
+    public void rowWritten() {
+        rowsWritten.incrementAndGet();
+        if (cancelRequested) {
+            throw new CancellationException("Export cancelled: " + description);
+        }
+    }
+
+    /**
+     * Request cancellation; a queued job never starts, a running one stops at the next row
+     */
+    public void cancel() {
+        cancelRequested = true;
+        Future<?> submitted = future;
+        if (state == State.QUEUED && submitted != null && submitted.cancel(false)) {
+            markCancelled();
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Path getOutputPath() {
+        return outputPath;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public CompletableFuture<Path> getCompletion() {
+        return completion;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    /**
+     * Total rows, or -1 until the export has loaded its data
+     */
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    /**
+     * Fraction complete in [0, 1], or -1 when the total is not known yet
+     */
+    public double getFractionDone() {
+        long total = totalRows;
+        if (total < 0) return -1;
+        return total == 0 ? 1.0 : Math.min(1.0, getRowsWritten() / (double) total);
+    }
+
+    public Duration getElapsed() {
+        if (startedAt == 0) return Duration.ZERO;
+        long end = finishedAt != 0 ? finishedAt : System.nanoTime();
+        return Duration.ofNanos(end - startedAt);
+    }
+
+    public double getRowsPerSecond() {
+        long nanos = getElapsed().toNanos();
+        return nanos > 0 ? getRowsWritten() * 1_000_000_000.0 / nanos : 0.0;
+    }
+
+    /**
+     * Estimated time remaining at the current rate, or null when it cannot be estimated
+     */
+    public Duration getEta() {
+        long total = totalRows;
+        double rate = getRowsPerSecond();
+        if (state != State.RUNNING || total < 0 || rate <= 0) return null;
+        long remaining = Math.max(0, total - getRowsWritten());
+        return Duration.ofMillis((long) (remaining * 1000 / rate));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Export #%d %s [%s] %d/%d rows, %.0f rows/s",
+            id, description, state, getRowsWritten(), totalRows, getRowsPerSecond());
+    }
+
+    // Lifecycle - called by ExportJobManager
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    boolean markRunning() {
+        if (cancelRequested) {
+            markCancelled();
+            return false;
+        }
+        startedAt = System.nanoTime();
+        state = State.RUNNING;
+        return true;
+    }
+
+    void markCompleted(Path result) {
+        finishedAt = System.nanoTime();
+        state = State.COMPLETED;
+        completion.complete(result);
+    }
+
+    void markFailed(Throwable error) {
+        finishedAt = System.nanoTime();
+        state = State.FAILED;
+        completion.completeExceptionally(error);
+    }
+
+    void markCancelled() {
+        if (startedAt != 0) {
+            finishedAt = System.nanoTime();
+        }
+        state = State.CANCELLED;
+        completion.completeExceptionally(new CancellationException("Export cancelled: " + description));
+    }
+}
@@ -0,0 +1,196 @@
+package com.vertitrack.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Export Job Manager - Runs ExportService exports in the background
+ *
+ * Exports are submitted to a small bounded executor and return an ExportJob
+ * handle immediately, so controllers never block the FX thread. At most
+ * MAX_CONCURRENT_EXPORTS run at once (each holds a pooled connection while it
+ * loads its data), and at most MAX_QUEUED_EXPORTS wait behind them; further
+ * submissions are rejected rather than piling up.
+ */
+@Service
+@Lazy
+@RequiredArgsConstructor
+@Slf4j
+public class ExportJobManager {
+
+    private final ExportService exportService;
+
+    static final int MAX_CONCURRENT_EXPORTS = 2;
+    static final int MAX_QUEUED_EXPORTS = 16;
+    private static final int FINISHED_JOBS_KEPT = 50;
+
+    private final AtomicLong jobIds = new AtomicLong();
+    private final Map<Long, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor = createExecutor();
+
+    /**
+     * A unit of export work that reports to the given progress
+     */
+    @FunctionalInterface
+    public interface ExportTask {
+        Path run(ExportProgress progress) throws IOException;
+    }
+
+    // Convenience submissions for the standard exports
+    public ExportJob submitLiftsExport(String filePath) {
+        return submit("Lifts", filePath, progress -> exportService.exportLiftsToCSV(filePath, progress));
+    }
+
+    public ExportJob submitLiftServiceRecordsExport(Long liftId, int year, String filePath) {
+        return submit("Service records for lift " + liftId + " (" + year + ")", filePath,
+            progress -> exportService.exportLiftServiceRecordsToCSV(liftId, year, filePath, progress));
+    }
+
+    public ExportJob submitYearlyExpenseReport(int year, String filePath) {
+        return submit("Expense report " + year, filePath,
+            progress -> exportService.exportYearlyExpenseReportToCSV(year, filePath, progress));
+    }
+
+    public ExportJob submitMonthlyAttendanceExport(Long employeeId, int year, int month, String filePath) {
+        return submit("Attendance for employee " + employeeId + " (" + month + "/" + year + ")", filePath,
+            progress -> exportService.exportMonthlyAttendanceToCSV(employeeId, year, month, filePath, progress));
+    }
+
+    public ExportJob submitEmployeeMonthlyExpensesExport(Long employeeId, int year, int month, String filePath) {
+        return submit("Expenses for employee " + employeeId + " (" + month + "/" + year + ")", filePath,
+            progress -> exportService.exportEmployeeMonthlyExpensesToCSV(employeeId, year, month, filePath, progress));
+    }
+
+    /**
+     * Submit an export; the partially written file is deleted if it fails or is cancelled
+     *
+     * @throws RejectedExecutionException if the export queue is full
+     */
+    public ExportJob submit(String description, String filePath, ExportTask task) {
+        ExportJob job = new ExportJob(jobIds.incrementAndGet(), description, Paths.get(filePath));
+        pruneFinishedJobs();
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(executor.submit(() -> run(job, task)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new RejectedExecutionException("Too many exports queued, try again when one finishes", e);
+        }
+        log.info("Queued export #{} {}", job.getId(), description);
+        return job;
+    }
+
+    public ExportJob getJob(long id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * Jobs that are queued or running, oldest first
+     */
+    public List<ExportJob> getActiveJobs() {
+        List<ExportJob> active = new ArrayList<>();
+        for (ExportJob job : jobs.values()) {
+            if (!job.isDone()) {
+                active.add(job);
+            }
+        }
+        active.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return active;
+    }
+
+    public void cancel(long id) {
+        ExportJob job = jobs.get(id);
+        if (job != null) {
+            job.cancel();
+            executor.purge(); // free the queue slot of a cancelled queued job
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(ExportJob::cancel);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Helper methods
+    private void run(ExportJob job, ExportTask task) {
+        if (!job.markRunning()) {
+            return;
+        }
+        try {
+            Path result = task.run(job);
+            job.markCompleted(result);
+            log.info("Export #{} finished: {} rows in {} ms ({} rows/s)", job.getId(), job.getRowsWritten(),
+                job.getElapsed().toMillis(), String.format("%.0f", job.getRowsPerSecond()));
+        } catch (CancellationException e) {
+            deletePartialOutput(job);
+            job.markCancelled();
+            log.info("Export #{} cancelled after {} rows", job.getId(), job.getRowsWritten());
+        } catch (Exception e) {
+            deletePartialOutput(job);
+            job.markFailed(e);
+            log.error("Export #{} {} failed", job.getId(), job.getDescription(), e);
+        }
+    }
+
+    private void deletePartialOutput(ExportJob job) {
+        try {
+            Files.deleteIfExists(job.getOutputPath());
+        } catch (IOException e) {
+            log.warn("Could not delete partial export {}", job.getOutputPath(), e);
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        List<ExportJob> finished = new ArrayList<>();
+        for (ExportJob job : jobs.values()) {
+            if (job.isDone()) {
+                finished.add(job);
+            }
+        }
+        if (finished.size() <= FINISHED_JOBS_KEPT) return;
+        finished.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        for (int i = 0; i < finished.size() - FINISHED_JOBS_KEPT; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(MAX_CONCURRENT_EXPORTS, MAX_CONCURRENT_EXPORTS,
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_EXPORTS),
+            runnable -> {
+                Thread thread = new Thread(runnable, "export-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            });
+    }
+}
@@ -0,0 +1,29 @@
+package com.vertitrack.service;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Export Progress - Row-level progress hook passed into ExportService
+ * Exports report their row total once the data is loaded and call rowWritten()
+ * after every row; an implementation cancels the export by throwing
+ * CancellationException from rowWritten().
+ */
+public interface ExportProgress {
+
+    /**
+     * No-op progress for synchronous callers
+     */
+    ExportProgress NONE = new ExportProgress() {
+        @Override
+        public void start(long totalRows) {
+        }
+
+        @Override
+        public void rowWritten() {
+        }
+    };
+
+    void start(long totalRows);
+
+    void rowWritten() throws CancellationException;
+}
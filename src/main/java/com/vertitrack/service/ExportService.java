@@ -3,23 +3,25 @@ package com.vertitrack.service;
 import com.vertitrack.model.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.Writer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Export Service - Handles data export functionality
  * Exports to CSV format for easy viewing in Excel
+ * Output goes through ExportSink; a file path ending in ".gz" is gzip-compressed
  */
 @Service
+@Lazy
 @RequiredArgsConstructor
 @Slf4j
 public class ExportService {
@@ -36,10 +38,20 @@ public class ExportService {
      * Export all lifts to CSV
      */
     public Path exportLiftsToCSV(String filePath) throws IOException {
+        return exportLiftsToCSV(filePath, ExportProgress.NONE);
+    }
+    
+    /**
+     * Export all lifts to CSV
+     * Reports rows to the given progress, which may cancel the export
+     */
+    public Path exportLiftsToCSV(String filePath, ExportProgress progress) throws IOException {
         List<Lift> lifts = liftService.findAllLifts();
         Path path = Paths.get(filePath);
+        progress.start(lifts.size());
         
-        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+        ExportSink writer = ExportSink.open(path);
+        try (writer) {
             // Header
             writer.write("Lift Number,Location,Building,Type,Capacity,AMC Start Date,AMC End Date,AMC Renewal Date,AMC Amount,Contractor Name,Status\n");
             
@@ -58,10 +70,12 @@ public class ExportService {
                     escapeCSV(lift.getContractorName()),
                     lift.getStatus()
                 ));
+                progress.rowWritten();
             }
         }
         
         log.info("Exported {} lifts to {}", lifts.size(), filePath);
+        logThroughput(writer);
         return path;
     }
     
@@ -69,26 +83,24 @@ public class ExportService {
      * Export service records for a lift (whole year)
      */
     public Path exportLiftServiceRecordsToCSV(Long liftId, int year, String filePath) throws IOException {
+        return exportLiftServiceRecordsToCSV(liftId, year, filePath, ExportProgress.NONE);
+    }
+    
+    /**
+     * Export service records for a lift (whole year)
+     * Reports rows to the given progress, which may cancel the export
+     */
+    public Path exportLiftServiceRecordsToCSV(Long liftId, int year, String filePath, ExportProgress progress) throws IOException {
         List<ServiceRecord> servicingRecords = serviceRecordService.findAmcServicingRecordsByLiftAndYear(liftId, year);
         List<ServiceRecord> repairRecords = serviceRecordService.findAmcRepairingRecordsByLiftAndYear(liftId, year);
         
         Path path = Paths.get(filePath);
+        progress.start(servicingRecords.size() + repairRecords.size());
         
-        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
-            // Header
-            writer.write("Service Type,Service Date,Performed By,Work Description,Labor Cost,Parts Cost,Total Cost,Status,Invoice Number\n");
-            
-            // Servicing Records
-            writer.write("\n=== AMC SERVICING RECORDS ===\n");
-            for (ServiceRecord record : servicingRecords) {
-                writeServiceRecord(writer, record);
-            }
-            
-            // Repair Records
-            writer.write("\n=== AMC REPAIR RECORDS ===\n");
-            for (ServiceRecord record : repairRecords) {
-                writeServiceRecord(writer, record);
-            }
+        ExportSink writer = ExportSink.open(path);
+        try (writer) {
+            // Header, servicing and repair records
+            writeServiceRecordSections(writer, servicingRecords, repairRecords, progress);
             
             // Total
             Double totalCost = serviceRecordService.getTotalServiceCostByLiftAndYear(liftId, year);
@@ -96,6 +108,7 @@ public class ExportService {
         }
         
         log.info("Exported service records for lift {} year {} to {}", liftId, year, filePath);
+        logThroughput(writer);
         return path;
     }
     
@@ -103,18 +116,30 @@ public class ExportService {
      * Export expense report for a year
      */
     public Path exportYearlyExpenseReportToCSV(int year, String filePath) throws IOException {
+        return exportYearlyExpenseReportToCSV(year, filePath, ExportProgress.NONE);
+    }
+    
+    /**
+     * Export expense report for a year
+     * Reports rows to the given progress, which may cancel the export
+     */
+    public Path exportYearlyExpenseReportToCSV(int year, String filePath, ExportProgress progress) throws IOException {
         LocalDate startDate = LocalDate.of(year, 1, 1);
         LocalDate endDate = LocalDate.of(year, 12, 31);
         
         List<Expense> expenses = expenseService.findExpensesBetweenDates(startDate, endDate);
         Path path = Paths.get(filePath);
+        progress.start(expenses.size());
         
-        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+        ExportSink writer = ExportSink.open(path);
+        try (writer) {
             // Header
             writer.write("Date,Type,Category,Amount,Paid To,Lift,Employee,Description,Invoice Number,Payment Status\n");
             
-            // Data
+            // Data (summary is accumulated in the same pass)
+            EnumAccumulator<Expense.ExpenseType> totals = new EnumAccumulator<>(Expense.ExpenseType.class);
             for (Expense expense : expenses) {
+                totals.add(expense.getExpenseType(), expense.getAmount());
                 writer.write(String.format("%s,%s,%s,%.2f,%s,%s,%s,%s,%s,%s\n",
                     formatDate(expense.getExpenseDate()),
                     expense.getExpenseType(),
@@ -127,25 +152,27 @@ public class ExportService {
                     escapeCSV(expense.getInvoiceNumber()),
                     expense.getPaymentStatus()
                 ));
+                progress.rowWritten();
             }
             
             // Summary
             writer.write("\n=== EXPENSE SUMMARY ===\n");
             writer.write(String.format("AMC Payments: ₹%.2f\n", 
-                expenseService.getTotalExpenseByType(Expense.ExpenseType.AMC_PAYMENT)));
+                totals.sum(Expense.ExpenseType.AMC_PAYMENT)));
             writer.write(String.format("Repair Payments: ₹%.2f\n", 
-                expenseService.getTotalExpenseByType(Expense.ExpenseType.REPAIR_PAYMENT)));
+                totals.sum(Expense.ExpenseType.REPAIR_PAYMENT)));
             writer.write(String.format("Material Expenses: ₹%.2f\n", 
-                expenseService.getTotalExpenseByType(Expense.ExpenseType.MATERIAL_EXPENSE)));
+                totals.sum(Expense.ExpenseType.MATERIAL_EXPENSE)));
             writer.write(String.format("Employee Petrol: ₹%.2f\n", 
-                expenseService.getTotalExpenseByType(Expense.ExpenseType.EMPLOYEE_PETROL)));
+                totals.sum(Expense.ExpenseType.EMPLOYEE_PETROL)));
             writer.write(String.format("Employee Other: ₹%.2f\n", 
-                expenseService.getTotalExpenseByType(Expense.ExpenseType.EMPLOYEE_OTHER)));
+                totals.sum(Expense.ExpenseType.EMPLOYEE_OTHER)));
             writer.write(String.format("\nTotal Yearly Expenses: ₹%.2f\n", 
-                expenseService.getYearlyTotalExpenses(year)));
+                totals.totalSum()));
         }
         
         log.info("Exported yearly expense report for {} to {}", year, filePath);
+        logThroughput(writer);
         return path;
     }
     
@@ -153,17 +180,30 @@ public class ExportService {
      * Export employee attendance for a month
      */
     public Path exportMonthlyAttendanceToCSV(Long employeeId, int year, int month, String filePath) throws IOException {
+        return exportMonthlyAttendanceToCSV(employeeId, year, month, filePath, ExportProgress.NONE);
+    }
+    
+    /**
+     * Export employee attendance for a month
+     * Reports rows to the given progress, which may cancel the export
+     */
+    public Path exportMonthlyAttendanceToCSV(Long employeeId, int year, int month, String filePath, ExportProgress progress) throws IOException {
         List<Attendance> attendanceList = attendanceService.getMonthlyAttendanceByEmployee(employeeId, year, month);
-        Map<String, Long> summary = attendanceService.getMonthlyAttendanceSummary(employeeId, year, month);
         
         Path path = Paths.get(filePath);
+        progress.start(attendanceList.size());
         
-        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+        ExportSink writer = ExportSink.open(path);
+        try (writer) {
             // Header
             writer.write("Date,Status,Check In,Check Out,Work Hours,Overtime Hours,Leave Type,Remarks\n");
             
-            // Data
+            // Data (status counts and hours are accumulated in the same pass)
+            EnumAccumulator<Attendance.AttendanceStatus> workHours = new EnumAccumulator<>(Attendance.AttendanceStatus.class);
+            EnumAccumulator<Attendance.AttendanceStatus> overtimeHours = new EnumAccumulator<>(Attendance.AttendanceStatus.class);
             for (Attendance attendance : attendanceList) {
+                workHours.add(attendance.getStatus(), attendance.getWorkHours());
+                overtimeHours.add(attendance.getStatus(), attendance.getOvertimeHours());
                 writer.write(String.format("%s,%s,%s,%s,%.2f,%.2f,%s,%s\n",
                     formatDate(attendance.getAttendanceDate()),
                     attendance.getStatus(),
@@ -174,24 +214,24 @@ public class ExportService {
                     attendance.getLeaveType() != null ? attendance.getLeaveType().toString() : "",
                     escapeCSV(attendance.getRemarks())
                 ));
+                progress.rowWritten();
             }
             
             // Summary
             writer.write("\n=== ATTENDANCE SUMMARY ===\n");
-            writer.write(String.format("Present Days: %d\n", summary.get("present")));
-            writer.write(String.format("Absent Days: %d\n", summary.get("absent")));
-            writer.write(String.format("Leave Days: %d\n", summary.get("leaves")));
-            writer.write(String.format("Half Days: %d\n", summary.get("halfDay")));
-            writer.write(String.format("Holidays: %d\n", summary.get("holiday")));
-            writer.write(String.format("Week Offs: %d\n", summary.get("weekOff")));
+            writer.write(String.format("Present Days: %d\n", workHours.count(Attendance.AttendanceStatus.PRESENT)));
+            writer.write(String.format("Absent Days: %d\n", workHours.count(Attendance.AttendanceStatus.ABSENT)));
+            writer.write(String.format("Leave Days: %d\n", workHours.count(Attendance.AttendanceStatus.LEAVE)));
+            writer.write(String.format("Half Days: %d\n", workHours.count(Attendance.AttendanceStatus.HALF_DAY)));
+            writer.write(String.format("Holidays: %d\n", workHours.count(Attendance.AttendanceStatus.HOLIDAY)));
+            writer.write(String.format("Week Offs: %d\n", workHours.count(Attendance.AttendanceStatus.WEEK_OFF)));
             
-            Double totalWorkHours = attendanceService.getTotalWorkHoursByMonth(employeeId, year, month);
-            Double totalOvertimeHours = attendanceService.getTotalOvertimeHoursByMonth(employeeId, year, month);
-            writer.write(String.format("\nTotal Work Hours: %.2f\n", totalWorkHours));
-            writer.write(String.format("Total Overtime Hours: %.2f\n", totalOvertimeHours));
+            writer.write(String.format("\nTotal Work Hours: %.2f\n", workHours.totalSum()));
+            writer.write(String.format("Total Overtime Hours: %.2f\n", overtimeHours.totalSum()));
         }
         
         log.info("Exported monthly attendance for employee {} to {}", employeeId, filePath);
+        logThroughput(writer);
         return path;
     }
     
@@ -199,15 +239,27 @@ public class ExportService {
      * Export employee expenses for a month
      */
     public Path exportEmployeeMonthlyExpensesToCSV(Long employeeId, int year, int month, String filePath) throws IOException {
+        return exportEmployeeMonthlyExpensesToCSV(employeeId, year, month, filePath, ExportProgress.NONE);
+    }
+    
+    /**
+     * Export employee expenses for a month
+     * Reports rows to the given progress, which may cancel the export
+     */
+    public Path exportEmployeeMonthlyExpensesToCSV(Long employeeId, int year, int month, String filePath, ExportProgress progress) throws IOException {
         List<Expense> expenses = expenseService.getEmployeeExpensesByMonth(employeeId, year, month);
         Path path = Paths.get(filePath);
+        progress.start(expenses.size());
         
-        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+        ExportSink writer = ExportSink.open(path);
+        try (writer) {
             // Header
             writer.write("Date,Type,Category,Amount,Description,Payment Mode,Status\n");
             
             // Data
+            EnumAccumulator<Expense.ExpenseType> totals = new EnumAccumulator<>(Expense.ExpenseType.class);
             for (Expense expense : expenses) {
+                totals.add(expense.getExpenseType(), expense.getAmount());
                 writer.write(String.format("%s,%s,%s,%.2f,%s,%s,%s\n",
                     formatDate(expense.getExpenseDate()),
                     expense.getExpenseType(),
@@ -217,19 +269,98 @@ public class ExportService {
                     escapeCSV(expense.getPaymentMode()),
                     expense.getPaymentStatus()
                 ));
+                progress.rowWritten();
             }
             
             // Total
-            Double total = expenseService.getTotalEmployeeExpensesByMonth(employeeId, year, month);
-            writer.write(String.format("\nTotal Expenses: ₹%.2f\n", total));
+            writer.write(String.format("\nTotal Expenses: ₹%.2f\n", totals.totalSum()));
         }
         
         log.info("Exported employee monthly expenses for employee {} to {}", employeeId, filePath);
+        logThroughput(writer);
         return path;
     }
     
+    /**
+     * Write a per-lift annual statement (service records, expenses and totals)
+     * from records that were already loaded by the caller.
+     * Used by the fleet-wide batch job so that no per-lift queries are issued.
+     */
+    public void writeLiftAnnualStatement(Writer writer, Lift lift, int year,
+                                         List<ServiceRecord> serviceRecords, List<Expense> expenses) throws IOException {
+        writer.write(String.format("AMC & Repairing Payment Record - %s,%s,%s,Year %d\n",
+            escapeCSV(lift.getLiftNumber()),
+            escapeCSV(lift.getLocation()),
+            escapeCSV(lift.getBuilding()),
+            year
+        ));
+        
+        // Service Records, in the same format as exportLiftServiceRecordsToCSV
+        List<ServiceRecord> servicingRecords = new ArrayList<>();
+        List<ServiceRecord> repairRecords = new ArrayList<>();
+        List<ServiceRecord> otherRecords = new ArrayList<>();
+        double totalServiceCost = 0.0;
+        for (ServiceRecord record : serviceRecords) {
+            if (record.getServiceType() == ServiceRecord.ServiceType.AMC_SERVICING) {
+                servicingRecords.add(record);
+            } else if (record.getServiceType() == ServiceRecord.ServiceType.AMC_REPAIR) {
+                repairRecords.add(record);
+            } else {
+                otherRecords.add(record);
+            }
+            totalServiceCost += record.getTotalCost() != null ? record.getTotalCost() : 0.0;
+        }
+        
+        writer.write("\n");
+        writeServiceRecordSections(writer, servicingRecords, repairRecords, ExportProgress.NONE);
+        
+        writer.write("\n=== OTHER SERVICE RECORDS ===\n");
+        for (ServiceRecord record : otherRecords) {
+            writeServiceRecord(writer, record);
+        }
+        
+        // Expenses
+        writer.write("\n=== PAYMENTS & EXPENSES ===\n");
+        writer.write("Date,Type,Category,Amount,Paid To,Description,Invoice Number,Payment Status\n");
+        double totalExpenses = 0.0;
+        for (Expense expense : expenses) {
+            writer.write(String.format("%s,%s,%s,%.2f,%s,%s,%s,%s\n",
+                formatDate(expense.getExpenseDate()),
+                expense.getExpenseType(),
+                escapeCSV(expense.getCategory()),
+                expense.getAmount(),
+                escapeCSV(expense.getPaidTo()),
+                escapeCSV(expense.getDescription()),
+                escapeCSV(expense.getInvoiceNumber()),
+                expense.getPaymentStatus()
+            ));
+            totalExpenses += expense.getAmount() != null ? expense.getAmount() : 0.0;
+        }
+        
+        // Totals
+        writer.write(String.format("\nTotal Service Cost for Year %d: ₹%.2f\n", year, totalServiceCost));
+        writer.write(String.format("Total Payments & Expenses for Year %d: ₹%.2f\n", year, totalExpenses));
+    }
+    
     // Helper methods
-    private void writeServiceRecord(BufferedWriter writer, ServiceRecord record) throws IOException {
+    private void writeServiceRecordSections(Writer writer, List<ServiceRecord> servicingRecords,
+                                            List<ServiceRecord> repairRecords, ExportProgress progress) throws IOException {
+        writer.write("Service Type,Service Date,Performed By,Work Description,Labor Cost,Parts Cost,Total Cost,Status,Invoice Number\n");
+        
+        writer.write("\n=== AMC SERVICING RECORDS ===\n");
+        for (ServiceRecord record : servicingRecords) {
+            writeServiceRecord(writer, record);
+            progress.rowWritten();
+        }
+        
+        writer.write("\n=== AMC REPAIR RECORDS ===\n");
+        for (ServiceRecord record : repairRecords) {
+            writeServiceRecord(writer, record);
+            progress.rowWritten();
+        }
+    }
+    
+    private void writeServiceRecord(Writer writer, ServiceRecord record) throws IOException {
         writer.write(String.format("%s,%s,%s,%s,%.2f,%.2f,%.2f,%s,%s\n",
             record.getServiceType(),
             formatDate(record.getServiceDate()),
@@ -243,11 +374,17 @@ public class ExportService {
         ));
     }
     
-    private String formatDate(LocalDate date) {
+    private void logThroughput(ExportSink sink) {
+        log.info("Wrote {} bytes ({} uncompressed) in {} ms, {} MB/s",
+            sink.getBytesWritten(), sink.getUncompressedBytes(), sink.getElapsedMillis(),
+            String.format("%.1f", sink.getThroughputMbPerSecond()));
+    }
+    
+    static String formatDate(LocalDate date) {
         return date != null ? date.format(DATE_FORMATTER) : "";
     }
     
-    private String escapeCSV(String value) {
+    static String escapeCSV(String value) {
         if (value == null) return "";
         // Escape commas and quotes for CSV
         if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
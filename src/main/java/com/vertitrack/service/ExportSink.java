@@ -0,0 +1,291 @@
+package com.vertitrack.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Export Sink - Channel based output for large exports
+ * Encodes UTF-8 into pooled direct ByteBuffers and writes them through a FileChannel,
+ * optionally gzip-compressing on the fly. Tracks bytes written and throughput.
+ *
+ * Not thread-safe: one export writes to one sink.
+ */
+public class ExportSink extends Writer {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int CHAR_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 8;
+    private static final Queue<ByteBuffer> BUFFER_POOL = new ConcurrentLinkedQueue<>();
+
+    // gzip member header: magic, CM=deflate, no flags, no mtime, XFL=0, OS=unknown
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final byte[] NO_INPUT = new byte[0];
+
+    private final FileChannel channel;
+    private final CharsetEncoder encoder;
+    private final CharBuffer charBuffer;
+    private final ByteBuffer byteBuffer;
+    private final ByteBuffer deflateBuffer;
+    private final Deflater deflater;
+    private final CRC32 crc;
+    private final long startNanos;
+
+    private long bytesWritten;
+    private long uncompressedBytes;
+    private long elapsedNanos;
+    private boolean closed;
+
+    private ExportSink(FileChannel channel, boolean gzip, int bufferSize) throws IOException {
+        this.channel = channel;
+        this.encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.charBuffer = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+        if (gzip) {
+            this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            this.crc = new CRC32();
+            try {
+                writeFully(ByteBuffer.wrap(GZIP_HEADER));
+            } catch (IOException | RuntimeException e) {
+                deflater.end();
+                throw e;
+            }
+        } else {
+            this.deflater = null;
+            this.crc = null;
+        }
+
+        // Pooled buffers are taken last, so a failed open cannot strand one
+        this.byteBuffer = acquireBuffer(bufferSize);
+        ByteBuffer compressed = null;
+        if (gzip) {
+            try {
+                compressed = acquireBuffer(bufferSize);
+            } catch (RuntimeException | Error e) {
+                releaseBuffer(byteBuffer);
+                deflater.end();
+                throw e;
+            }
+        }
+        this.deflateBuffer = compressed;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Open a sink for the path; gzip is enabled when the file name ends with ".gz"
+     */
+    public static ExportSink open(Path path) throws IOException {
+        return open(path, path.getFileName().toString().endsWith(".gz"), DEFAULT_BUFFER_SIZE);
+    }
+
+    public static ExportSink open(Path path, boolean gzip, int bufferSize) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return new ExportSink(channel, gzip, bufferSize);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(String str) throws IOException {
+        write(str, 0, str.length());
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        int end = off + len;
+        while (off < end) {
+            int n = Math.min(charBuffer.remaining(), end - off);
+            int position = charBuffer.position();
+            str.getChars(off, off + n, charBuffer.array(), position);
+            charBuffer.position(position + n);
+            off += n;
+            if (!charBuffer.hasRemaining()) {
+                encodeChars(false);
+            }
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        int end = off + len;
+        while (off < end) {
+            int n = Math.min(charBuffer.remaining(), end - off);
+            charBuffer.put(cbuf, off, n);
+            off += n;
+            if (!charBuffer.hasRemaining()) {
+                encodeChars(false);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        encodeChars(false);
+        drainBytes();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            encodeChars(true);
+            while (encoder.flush(byteBuffer) == CoderResult.OVERFLOW) {
+                drainBytes();
+            }
+            drainBytes();
+            if (deflater != null) {
+                finishGzip();
+            }
+        } finally {
+            elapsedNanos = System.nanoTime() - startNanos;
+            if (deflater != null) {
+                deflater.end();
+                releaseBuffer(deflateBuffer);
+            }
+            releaseBuffer(byteBuffer);
+            channel.close();
+        }
+    }
+
+    /**
+     * Bytes written to the file (compressed size when gzip is enabled)
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * UTF-8 bytes produced before compression
+     */
+    public long getUncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    public long getElapsedMillis() {
+        long nanos = closed ? elapsedNanos : System.nanoTime() - startNanos;
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * Encoded throughput in MB/s of uncompressed output
+     */
+    public double getThroughputMbPerSecond() {
+        long nanos = closed ? elapsedNanos : System.nanoTime() - startNanos;
+        if (nanos <= 0) return 0.0;
+        return (uncompressedBytes / (1024.0 * 1024.0)) / (nanos / 1_000_000_000.0);
+    }
+
+    public boolean isCompressed() {
+        return deflater != null;
+    }
+
+    // Helper methods
+    private void encodeChars(boolean endOfInput) throws IOException {
+        charBuffer.flip();
+        while (true) {
+            CoderResult result = encoder.encode(charBuffer, byteBuffer, endOfInput);
+            if (result.isOverflow()) {
+                drainBytes();
+            } else {
+                break;
+            }
+        }
+        // Keeps a trailing high surrogate for the next call
+        charBuffer.compact();
+    }
+
+    private void drainBytes() throws IOException {
+        byteBuffer.flip();
+        if (!byteBuffer.hasRemaining()) {
+            byteBuffer.clear();
+            return;
+        }
+        uncompressedBytes += byteBuffer.remaining();
+        if (deflater != null) {
+            crc.update(byteBuffer.duplicate());
+            deflater.setInput(byteBuffer);
+            while (!deflater.needsInput()) {
+                deflater.deflate(deflateBuffer);
+                drainDeflated();
+            }
+            // Detach the deflater before the buffer is cleared and reused
+            deflater.setInput(NO_INPUT);
+        } else {
+            writeFully(byteBuffer);
+        }
+        byteBuffer.clear();
+    }
+
+    private void finishGzip() throws IOException {
+        deflater.finish();
+        while (!deflater.finished()) {
+            deflater.deflate(deflateBuffer);
+            drainDeflated();
+        }
+
+        // gzip trailer: CRC-32 and input size modulo 2^32, little-endian
+        ByteBuffer trailer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        trailer.putInt((int) crc.getValue());
+        trailer.putInt((int) uncompressedBytes);
+        trailer.flip();
+        writeFully(trailer);
+    }
+
+    private void drainDeflated() throws IOException {
+        deflateBuffer.flip();
+        writeFully(deflateBuffer);
+        deflateBuffer.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Export sink is closed");
+        }
+    }
+
+    private static ByteBuffer acquireBuffer(int size) {
+        if (size == DEFAULT_BUFFER_SIZE) {
+            ByteBuffer pooled = BUFFER_POOL.poll();
+            if (pooled != null) {
+                pooled.clear();
+                return pooled;
+            }
+        }
+        return ByteBuffer.allocateDirect(size);
+    }
+
+    private static void releaseBuffer(ByteBuffer buffer) {
+        if (buffer.capacity() == DEFAULT_BUFFER_SIZE && BUFFER_POOL.size() < MAX_POOLED_BUFFERS) {
+            BUFFER_POOL.offer(buffer);
+        }
+    }
+}
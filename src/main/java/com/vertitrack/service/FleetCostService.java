@@ -0,0 +1,384 @@
+package com.vertitrack.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vertitrack.model.Expense;
+import com.vertitrack.model.Lift;
+import com.vertitrack.model.ServiceRecord;
+import com.vertitrack.repository.ExpenseRepository;
+import com.vertitrack.repository.LiftRepository;
+import com.vertitrack.repository.ServiceRecordRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fleet Cost Service - Lift x year x cost-type cost cube for the whole fleet
+ *
+ * One GROUP BY over service records and one over lift expenses fill a dense
+ * array indexed by (lift, year, cost type), where the cost types are every
+ * ServiceType followed by every ExpenseType. Rankings, per-floor and
+ * per-capacity ratios are then computed in memory instead of with one query
+ * per lift. Built cubes are cached against a data version that Hibernate
+ * post-commit events on lifts, service records and expenses advance; JDBC
+ * writers call dataChanged().
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FleetCostService {
+
+    private static final ServiceRecord.ServiceType[] SERVICE_TYPES = ServiceRecord.ServiceType.values();
+    private static final Expense.ExpenseType[] EXPENSE_TYPES = Expense.ExpenseType.values();
+    private static final int COST_TYPES = SERVICE_TYPES.length + EXPENSE_TYPES.length;
+    private static final int MAX_CACHED_CUBES = 16;
+
+    public enum CostRatio {
+        TOTAL,          // Cost as is
+        PER_FLOOR,      // Cost / floors served; lifts without floors are skipped
+        PER_CAPACITY    // Cost / capacity; lifts without capacity are skipped
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ServiceRecordRepository serviceRecordRepository;
+    private final ExpenseRepository expenseRepository;
+    private final LiftRepository liftRepository;
+
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final Cache<String, CostCube> cubes = Caffeine.newBuilder()
+        .maximumSize(MAX_CACHED_CUBES)
+        .build();
+
+    // Registered once the application is ready, so the context does not wait on the Hibernate bootstrap
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        CostChangeListener listener = new CostChangeListener();
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+        // Cubes built before the listeners were in place may have missed writes
+        dataChanged();
+    }
+
+    /**
+     * Mark every cached cube stale; for writes that bypass Hibernate
+     */
+    public void dataChanged() {
+        dataVersion.incrementAndGet();
+    }
+
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
+    /**
+     * Cost cube for the years [fromYear, toYear], rebuilt only if the data changed since it was built
+     */
+    @Transactional(readOnly = true)
+    public CostCube getCube(int fromYear, int toYear) {
+        if (toYear < fromYear) {
+            throw new IllegalArgumentException("toYear " + toYear + " is before fromYear " + fromYear);
+        }
+        String key = fromYear + "-" + toYear;
+        long version = dataVersion.get();
+        CostCube cube = cubes.getIfPresent(key);
+        if (cube == null || cube.version != version) {
+            // Built from the version read first, so a change during the build leaves it stale
+            cube = build(fromYear, toYear, version);
+            cubes.put(key, cube);
+        }
+        return cube;
+    }
+
+    /**
+     * The k costliest lifts of a year by total or ratio, costliest first
+     */
+    @Transactional(readOnly = true)
+    public List<LiftCost> findCostliestLifts(int year, int k, CostRatio ratio) {
+        return getCube(year, year).top(k, year, year, ratio);
+    }
+
+    /**
+     * The k costliest lifts over several years by total or ratio, costliest first
+     */
+    @Transactional(readOnly = true)
+    public List<LiftCost> findCostliestLifts(int fromYear, int toYear, int k, CostRatio ratio) {
+        return getCube(fromYear, toYear).top(k, fromYear, toYear, ratio);
+    }
+
+    // Helper methods
+    private CostCube build(int fromYear, int toYear, long version) {
+        long start = System.nanoTime();
+        List<Object[]> lifts = liftRepository.findCostAttributes();
+        CostCube cube = new CostCube(version, fromYear, toYear, lifts);
+
+        LocalDate startDate = LocalDate.of(fromYear, 1, 1);
+        LocalDate endDate = LocalDate.of(toYear, 12, 31);
+        for (Object[] row : serviceRecordRepository.sumCostByLiftYearAndType(startDate, endDate)) {
+            cube.add((Long) row[0], ((Number) row[1]).intValue(),
+                ((ServiceRecord.ServiceType) row[2]).ordinal(), ((Number) row[3]).doubleValue());
+        }
+        for (Object[] row : expenseRepository.sumAmountByLiftYearAndType(startDate, endDate)) {
+            cube.add((Long) row[0], ((Number) row[1]).intValue(),
+                SERVICE_TYPES.length + ((Expense.ExpenseType) row[2]).ordinal(), ((Number) row[3]).doubleValue());
+        }
+
+        log.debug("Built lift cost cube {}-{} ({} lifts) in {} ms", fromYear, toYear, lifts.size(),
+            (System.nanoTime() - start) / 1_000_000);
+        return cube;
+    }
+
+    /**
+     * Costs of every lift by year and cost type; not modified after building
+     */
+    public static class CostCube {
+        private final long version;
+        private final int fromYear;
+        private final int years;
+        private final long[] liftIds;
+        private final String[] liftNumbers;
+        private final int[] floors;        // 0 if unknown
+        private final int[] capacities;    // 0 if unknown
+        private final Map<Long, Integer> liftIndex;
+        private final double[] costs;      // [lift][year][cost type]
+
+        CostCube(long version, int fromYear, int toYear, List<Object[]> lifts) {
+            this.version = version;
+            this.fromYear = fromYear;
+            this.years = toYear - fromYear + 1;
+            this.liftIds = new long[lifts.size()];
+            this.liftNumbers = new String[lifts.size()];
+            this.floors = new int[lifts.size()];
+            this.capacities = new int[lifts.size()];
+            this.liftIndex = new HashMap<>(lifts.size() * 2);
+            for (int i = 0; i < lifts.size(); i++) {
+                Object[] lift = lifts.get(i);
+                liftIds[i] = (Long) lift[0];
+                liftNumbers[i] = (String) lift[1];
+                floors[i] = lift[2] != null ? (Integer) lift[2] : 0;
+                capacities[i] = lift[3] != null ? (Integer) lift[3] : 0;
+                liftIndex.put(liftIds[i], i);
+            }
+            this.costs = new double[lifts.size() * years * COST_TYPES];
+        }
+
+        void add(Long liftId, int year, int costType, double amount) {
+            Integer lift = liftIndex.get(liftId);
+            if (lift != null) {
+                costs[cell(lift, year, costType)] += amount;
+            }
+        }
+
+        public double getServiceCost(Long liftId, int year, ServiceRecord.ServiceType serviceType) {
+            Integer lift = indexOf(liftId, year);
+            return lift != null ? costs[cell(lift, year, serviceType.ordinal())] : 0;
+        }
+
+        public double getExpense(Long liftId, int year, Expense.ExpenseType expenseType) {
+            Integer lift = indexOf(liftId, year);
+            return lift != null ? costs[cell(lift, year, SERVICE_TYPES.length + expenseType.ordinal())] : 0;
+        }
+
+        public double getServiceTotal(Long liftId, int year) {
+            Integer lift = indexOf(liftId, year);
+            return lift != null ? sum(lift, year, year, 0, SERVICE_TYPES.length) : 0;
+        }
+
+        public double getExpenseTotal(Long liftId, int year) {
+            Integer lift = indexOf(liftId, year);
+            return lift != null ? sum(lift, year, year, SERVICE_TYPES.length, COST_TYPES) : 0;
+        }
+
+        public double getLiftTotal(Long liftId, int year) {
+            Integer lift = indexOf(liftId, year);
+            return lift != null ? sum(lift, year, year, 0, COST_TYPES) : 0;
+        }
+
+        public double getFleetTotal(int year) {
+            checkYear(year);
+            double total = 0;
+            for (int lift = 0; lift < liftIds.length; lift++) {
+                total += sum(lift, year, year, 0, COST_TYPES);
+            }
+            return total;
+        }
+
+        /**
+         * k lifts with the highest value over [fromYear, toYear], highest first; lifts without cost are left out
+         */
+        public List<LiftCost> top(int k, int fromYear, int toYear, CostRatio ratio) {
+            checkYear(fromYear);
+            checkYear(toYear);
+            if (k <= 0) return List.of();
+            PriorityQueue<LiftCost> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(LiftCost::getValue));
+            for (int lift = 0; lift < liftIds.length; lift++) {
+                double cost = sum(lift, fromYear, toYear, 0, COST_TYPES);
+                if (cost <= 0) continue;
+                int divisor = ratio == CostRatio.PER_FLOOR ? floors[lift]
+                    : ratio == CostRatio.PER_CAPACITY ? capacities[lift] : 1;
+                if (divisor <= 0) continue;
+                double value = cost / divisor;
+                if (heap.size() < k) {
+                    heap.add(new LiftCost(liftIds[lift], liftNumbers[lift], cost, value));
+                } else if (value > heap.peek().getValue()) {
+                    heap.poll();
+                    heap.add(new LiftCost(liftIds[lift], liftNumbers[lift], cost, value));
+                }
+            }
+            List<LiftCost> ranked = new ArrayList<>(heap);
+            ranked.sort(Comparator.comparingDouble(LiftCost::getValue).reversed());
+            return ranked;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public int getFromYear() {
+            return fromYear;
+        }
+
+        public int getToYear() {
+            return fromYear + years - 1;
+        }
+
+        public int getLiftCount() {
+            return liftIds.length;
+        }
+
+        // Helper methods
+        private Integer indexOf(Long liftId, int year) {
+            checkYear(year);
+            return liftIndex.get(liftId);
+        }
+
+        private void checkYear(int year) {
+            if (year < fromYear || year >= fromYear + years) {
+                throw new IllegalArgumentException("Year " + year + " is outside the cube " + fromYear + "-" + getToYear());
+            }
+        }
+
+        private double sum(int lift, int fromYear, int toYear, int fromType, int toType) {
+            double total = 0;
+            for (int year = fromYear; year <= toYear; year++) {
+                int base = cell(lift, year, 0);
+                for (int type = fromType; type < toType; type++) {
+                    total += costs[base + type];
+                }
+            }
+            return total;
+        }
+
+        private int cell(int lift, int year, int costType) {
+            return (lift * years + (year - fromYear)) * COST_TYPES + costType;
+        }
+    }
+
+    /**
+     * One ranked lift: its cost and the value it was ranked by
+     */
+    public static class LiftCost {
+        private final Long liftId;
+        private final String liftNumber;
+        private final double cost;
+        private final double value;
+
+        public LiftCost(Long liftId, String liftNumber, double cost, double value) {
+            this.liftId = liftId;
+            this.liftNumber = liftNumber;
+            this.cost = cost;
+            this.value = value;
+        }
+
+        public Long getLiftId() {
+            return liftId;
+        }
+
+        public String getLiftNumber() {
+            return liftNumber;
+        }
+
+        public double getCost() {
+            return cost;
+        }
+
+        public double getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Hibernate listener; advances the data version after a cost-relevant commit
+     */
+    private class CostChangeListener implements PostCommitInsertEventListener,
+            PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            changed(event.getPersister());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            changed(event.getPersister());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            changed(event.getPersister());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return affectsCosts(persister);
+        }
+
+        private void changed(EntityPersister persister) {
+            if (affectsCosts(persister)) {
+                dataChanged();
+            }
+        }
+
+        private boolean affectsCosts(EntityPersister persister) {
+            Class<?> type = persister.getMappedClass();
+            return type == Lift.class || type == ServiceRecord.class || type == Expense.class;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.vertitrack.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Import Report - Outcome of a bulk CSV import
+ * Collects per-row errors from every pipeline stage and the overall throughput.
+ */
+public class ImportReport {
+
+    private static final int MAX_ERRORS = 10_000;
+
+    private final String entityName;
+    private final List<RowError> errors = new ArrayList<>();
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    private long elapsedMillis;
+
+    public ImportReport(String entityName) {
+        this.entityName = entityName;
+    }
+
+    synchronized void rowRead() {
+        totalRows++;
+    }
+
+    synchronized void rowsImported(int count) {
+        importedRows += count;
+    }
+
+    synchronized void rowFailed(long lineNumber, String message) {
+        failedRows++;
+        // Keep the report bounded for badly broken files; the counter stays exact
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(lineNumber, message));
+        }
+    }
+
+    void finish(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public synchronized long getTotalRows() {
+        return totalRows;
+    }
+
+    public synchronized long getImportedRows() {
+        return importedRows;
+    }
+
+    public synchronized long getFailedRows() {
+        return failedRows;
+    }
+
+    public synchronized List<RowError> getErrors() {
+        List<RowError> sorted = new ArrayList<>(errors);
+        sorted.sort((a, b) -> Long.compare(a.getLineNumber(), b.getLineNumber()));
+        return Collections.unmodifiableList(sorted);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? getTotalRows() * 1000.0 / elapsedMillis : 0.0;
+    }
+
+    public boolean hasErrors() {
+        return getFailedRows() > 0;
+    }
+
+    /**
+     * Write the per-row errors as CSV (Line,Error)
+     */
+    public Path writeErrorReport(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("Line,Error\n");
+            for (RowError error : getErrors()) {
+                writer.write(error.getLineNumber() + ",\"" + error.getMessage().replace("\"", "\"\"") + "\"\n");
+            }
+        }
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s import: %d rows, %d imported, %d failed in %d ms (%.0f rows/s)",
+            entityName, getTotalRows(), getImportedRows(), getFailedRows(), elapsedMillis, getRowsPerSecond());
+    }
+
+    /**
+     * A rejected row
+     */
+    public static class RowError {
+        private final long lineNumber;
+        private final String message;
+
+        public RowError(long lineNumber, String message) {
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.vertitrack.service;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Keyset Paging - Seek-based page reads for the paged tables
+ * A page next to one already loaded is read by seeking past that page's edge
+ * row on the (sort keys, id) tuple, so its cost does not depend on how deep the
+ * page is. Nulls are ordered the way MySQL orders them: first when ascending,
+ * last when descending. The sort must end with id so the tuple is unique.
+ */
+public final class KeysetPaging {
+
+    private KeysetPaging() {
+    }
+
+    /**
+     * The limit rows that follow the anchor row in the sort order
+     */
+    static <T> List<T> after(JpaSpecificationExecutor<T> executor, T anchor, Sort sort, int limit) {
+        return executor.findBy(seekPast(anchor, sort), q -> q.sortBy(sort).limit(limit).all());
+    }
+
+    /**
+     * The limit rows that precede the anchor row, returned in the sort order
+     */
+    static <T> List<T> before(JpaSpecificationExecutor<T> executor, T anchor, Sort sort, int limit) {
+        List<T> rows = new ArrayList<>(after(executor, anchor, sort.reverse(), limit));
+        Collections.reverse(rows);
+        return rows;
+    }
+
+    /**
+     * Put rows loaded by id back into the order of the id list; ids with no row are skipped
+     */
+    public static <T, ID> List<T> inIdOrder(List<ID> ids, List<T> rows, Function<T, ID> idOf) {
+        Map<ID, T> byId = new HashMap<>();
+        for (T row : rows) {
+            byId.put(idOf.apply(row), row);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    // Helper methods
+
+    // (k1 > v1) OR (k1 = v1 AND k2 > v2) OR ... with "greater" meaning later in the sort
+    private static <T> Specification<T> seekPast(T anchor, Sort sort) {
+        BeanWrapper values = PropertyAccessorFactory.forBeanPropertyAccess(anchor);
+        List<Sort.Order> orders = sort.toList();
+        return (root, query, cb) -> {
+            List<Predicate> branches = new ArrayList<>();
+            List<Predicate> equalSoFar = new ArrayList<>();
+            for (Sort.Order order : orders) {
+                Path<Comparable<Object>> key = root.get(order.getProperty());
+                @SuppressWarnings("unchecked")
+                Comparable<Object> value = (Comparable<Object>) values.getPropertyValue(order.getProperty());
+
+                Predicate later = later(cb, key, value, order.isAscending());
+                if (later != null) {
+                    List<Predicate> branch = new ArrayList<>(equalSoFar);
+                    branch.add(later);
+                    branches.add(cb.and(branch.toArray(Predicate[]::new)));
+                }
+                equalSoFar.add(value == null ? cb.isNull(key) : cb.equal(key, value));
+            }
+            return branches.isEmpty() ? cb.disjunction() : cb.or(branches.toArray(Predicate[]::new));
+        };
+    }
+
+    private static Predicate later(CriteriaBuilder cb, Path<Comparable<Object>> key,
+                                   Comparable<Object> value, boolean ascending) {
+        if (ascending) {
+            // Nulls sort first, so every non-null value is later than a null
+            return value == null ? cb.isNotNull(key) : cb.greaterThan(key, value);
+        }
+        // Nulls sort last, so nothing is later than a null
+        return value == null ? null : cb.or(cb.lessThan(key, value), cb.isNull(key));
+    }
+}
@@ -0,0 +1,431 @@
+package com.vertitrack.service;
+
+import com.vertitrack.model.LiftReliability;
+import com.vertitrack.model.ServiceRecord;
+import com.vertitrack.repository.LiftReliabilityRepository;
+import com.vertitrack.repository.ServiceRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Lift Reliability Service - Running failure statistics per lift
+ *
+ * Each lift has one lift_reliability row with its failure count, first and
+ * last failure, sum and sum of squares of the gaps between failures (for
+ * MTBF and its spread) and rolling 90- and 365-day failure counts backed by
+ * a 365-day ring of daily counts. Service record saves and deletes adjust the
+ * row in O(1): a failure after the last (or before the first) needs no
+ * history at all; one in between reads its two neighbouring failures through
+ * the (lift_id, service_type, service_date) index.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class LiftReliabilityService {
+
+    private static final int WINDOW_DAYS = 365;
+    private static final int SHORT_WINDOW_DAYS = 90;
+    // A ring slot is one unsigned byte; failures beyond this on one day are not counted in the windows
+    private static final int MAX_DAILY_FAILURES = 255;
+
+    private final LiftReliabilityRepository liftReliabilityRepository;
+    private final ServiceRecordRepository serviceRecordRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The failure a service record currently stands for in the database, or null
+     * Read with JDBC so pending entity changes are not flushed first.
+     */
+    @Transactional(readOnly = true)
+    public Failure findStoredFailure(Long serviceRecordId) {
+        List<Failure> failures = jdbcTemplate.query(
+            "SELECT lift_id, service_date FROM service_records WHERE id = ? " +
+            "AND service_type IN ('BREAKDOWN_REPAIR', 'AMC_REPAIR') AND (status IS NULL OR status <> 'CANCELLED')",
+            (rs, rowNum) -> new Failure(rs.getLong(1), rs.getDate(2).toLocalDate()),
+            serviceRecordId);
+        return failures.isEmpty() ? null : failures.get(0);
+    }
+
+    /**
+     * Apply a service record change: before and after are its failure before and after the change, or null
+     */
+    public void failureChanged(Long serviceRecordId, Failure before, Failure after) {
+        if (Objects.equals(before, after)) return;
+        if (before != null) {
+            remove(before, serviceRecordId);
+        }
+        if (after != null) {
+            add(after, serviceRecordId);
+        }
+    }
+
+    public void deleteForLift(Long liftId) {
+        if (liftReliabilityRepository.existsById(liftId)) {
+            liftReliabilityRepository.deleteById(liftId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Reliability> getReliability(Long liftId) {
+        LocalDate today = LocalDate.now();
+        return liftReliabilityRepository.findById(liftId).map(stats -> Reliability.of(stats, today));
+    }
+
+    /**
+     * The k lifts with the most failures in the last 365 days (then 90 days), most first
+     */
+    @Transactional(readOnly = true)
+    public List<Reliability> rankByRecentFailures(int k) {
+        return rank(k, Comparator.comparingInt(Reliability::getFailuresLast365Days)
+            .thenComparingInt(Reliability::getFailuresLast90Days).reversed(), false);
+    }
+
+    /**
+     * The k lifts with the shortest mean time between failures, shortest first; needs two failures
+     */
+    @Transactional(readOnly = true)
+    public List<Reliability> rankByMtbf(int k) {
+        return rank(k, Comparator.comparingDouble(Reliability::getMtbfDays), true);
+    }
+
+    /**
+     * Recompute every lift's row from the service history
+     */
+    public int rebuildAll() {
+        long start = System.nanoTime();
+        liftReliabilityRepository.deleteAllInBatch();
+        LocalDate today = LocalDate.now();
+        List<LiftReliability> rows = new ArrayList<>();
+        LiftReliability stats = null;
+        for (Object[] failure : serviceRecordRepository.findAllFailureDates()) {
+            Long liftId = (Long) failure[0];
+            if (stats == null || !stats.getLiftId().equals(liftId)) {
+                stats = newStats(liftId, today);
+                rows.add(stats);
+            }
+            // Dates arrive in order, so every failure is an append
+            LocalDate date = (LocalDate) failure[1];
+            append(stats, date);
+            countInWindows(stats, date, 1, today);
+        }
+        liftReliabilityRepository.saveAll(rows);
+        log.info("Rebuilt reliability stats of {} lifts in {} ms", rows.size(), (System.nanoTime() - start) / 1_000_000);
+        return rows.size();
+    }
+
+    // Incremental updates
+    private void add(Failure failure, Long serviceRecordId) {
+        LiftReliability stats = liftReliabilityRepository.findForUpdate(failure.liftId)
+            .orElseGet(() -> newStats(failure.liftId, LocalDate.now()));
+        LocalDate date = failure.date;
+        if (stats.getFailureCount() == 0 || !date.isBefore(stats.getLastFailureDate())) {
+            append(stats, date);
+        } else if (!date.isAfter(stats.getFirstFailureDate())) {
+            long gap = days(date, stats.getFirstFailureDate());
+            stats.setFirstFailureDate(date);
+            addInterval(stats, gap, 1);
+            stats.setFailureCount(stats.getFailureCount() + 1);
+        } else {
+            // Between two failures: the gap previous..next splits in two
+            LocalDate previous = serviceRecordRepository.findPreviousFailureDate(failure.liftId, date, excludeId(serviceRecordId));
+            LocalDate next = serviceRecordRepository.findNextFailureDate(failure.liftId, date, excludeId(serviceRecordId));
+            // Missing neighbours mean the row is behind the history; treat the date as an end instead
+            if (previous == null) previous = date;
+            if (next == null) next = date;
+            addInterval(stats, days(previous, next), -1);
+            addInterval(stats, days(previous, date), 1);
+            addInterval(stats, days(date, next), 1);
+            stats.setFailureCount(stats.getFailureCount() + 1);
+        }
+        countInWindows(stats, date, 1, LocalDate.now());
+        liftReliabilityRepository.save(stats);
+    }
+
+    private void remove(Failure failure, Long serviceRecordId) {
+        Optional<LiftReliability> found = liftReliabilityRepository.findForUpdate(failure.liftId);
+        if (found.isEmpty() || found.get().getFailureCount() == 0) return;
+        LiftReliability stats = found.get();
+        LocalDate date = failure.date;
+        if (stats.getFailureCount() == 1) {
+            clear(stats, LocalDate.now());
+            liftReliabilityRepository.save(stats);
+            return;
+        }
+        LocalDate previous = serviceRecordRepository.findPreviousFailureDate(failure.liftId, date, excludeId(serviceRecordId));
+        LocalDate next = serviceRecordRepository.findNextFailureDate(failure.liftId, date, excludeId(serviceRecordId));
+        if (previous != null && next != null) {
+            addInterval(stats, days(previous, date), -1);
+            addInterval(stats, days(date, next), -1);
+            addInterval(stats, days(previous, next), 1);
+        } else if (previous != null) {
+            addInterval(stats, days(previous, date), -1);
+            stats.setLastFailureDate(previous);
+        } else if (next != null) {
+            addInterval(stats, days(date, next), -1);
+            stats.setFirstFailureDate(next);
+        }
+        stats.setFailureCount(stats.getFailureCount() - 1);
+        countInWindows(stats, date, -1, LocalDate.now());
+        liftReliabilityRepository.save(stats);
+    }
+
+    private static void append(LiftReliability stats, LocalDate date) {
+        if (stats.getFailureCount() == 0) {
+            stats.setFirstFailureDate(date);
+        } else {
+            addInterval(stats, days(stats.getLastFailureDate(), date), 1);
+        }
+        stats.setLastFailureDate(date);
+        stats.setFailureCount(stats.getFailureCount() + 1);
+    }
+
+    private static void addInterval(LiftReliability stats, long gap, int sign) {
+        stats.setIntervalSumDays(stats.getIntervalSumDays() + sign * gap);
+        stats.setIntervalSumSquares(stats.getIntervalSumSquares() + sign * (double) gap * gap);
+    }
+
+    // Rolling windows
+    /**
+     * Roll the windows forward to today, then count the failure in its own day's slot
+     * Adds, removes and rebuilds use the same rule: a failure dated after
+     * today has no slot yet and is left out of the windows. The totals move
+     * by what the slot actually changed, so a capped or empty slot cannot
+     * make them drift.
+     */
+    private static void countInWindows(LiftReliability stats, LocalDate date, int delta, LocalDate today) {
+        advance(stats, today);
+        LocalDate windowDate = stats.getWindowDate();
+        if (date.isAfter(windowDate)) return;
+        long age = days(date, windowDate);
+        if (age >= WINDOW_DAYS) return;
+        byte[] ring = stats.getDailyFailures();
+        int slot = slot(date);
+        int before = ring[slot] & 0xFF;
+        int after = Math.max(0, Math.min(MAX_DAILY_FAILURES, before + delta));
+        if (after == before) {
+            if (delta > 0) {
+                log.warn("Lift {} has more than {} failures on {}; the rest are left out of its rolling windows",
+                    stats.getLiftId(), MAX_DAILY_FAILURES, date);
+            }
+            return;
+        }
+        ring[slot] = (byte) after;
+        int change = after - before;
+        stats.setFailuresLast365Days(Math.max(0, stats.getFailuresLast365Days() + change));
+        if (age < SHORT_WINDOW_DAYS) {
+            stats.setFailuresLast90Days(Math.max(0, stats.getFailuresLast90Days() + change));
+        }
+    }
+
+    /**
+     * Move the window end to today; each day passed drops the day leaving each window
+     */
+    private static void advance(LiftReliability stats, LocalDate today) {
+        LocalDate windowDate = stats.getWindowDate();
+        if (windowDate == null) {
+            stats.setWindowDate(today);
+            return;
+        }
+        long passed = days(windowDate, today);
+        if (passed <= 0) return;
+        byte[] ring = stats.getDailyFailures();
+        if (passed >= WINDOW_DAYS) {
+            Arrays.fill(ring, (byte) 0);
+            stats.setFailuresLast90Days(0);
+            stats.setFailuresLast365Days(0);
+        } else {
+            int last90 = stats.getFailuresLast90Days();
+            int last365 = stats.getFailuresLast365Days();
+            for (LocalDate day = windowDate.plusDays(1); !day.isAfter(today); day = day.plusDays(1)) {
+                last90 -= ring[slot(day.minusDays(SHORT_WINDOW_DAYS))] & 0xFF;
+                // The slot of a new day still holds the day 365 days earlier
+                last365 -= ring[slot(day)] & 0xFF;
+                ring[slot(day)] = 0;
+            }
+            stats.setFailuresLast90Days(Math.max(0, last90));
+            stats.setFailuresLast365Days(Math.max(0, last365));
+        }
+        stats.setWindowDate(today);
+    }
+
+    /**
+     * Failures in the windows ending today, without changing the row
+     */
+    private static int[] windowCounts(LiftReliability stats, LocalDate today) {
+        LocalDate windowDate = stats.getWindowDate();
+        if (windowDate == null || !today.isAfter(windowDate)) {
+            return new int[]{stats.getFailuresLast90Days(), stats.getFailuresLast365Days()};
+        }
+        byte[] ring = stats.getDailyFailures();
+        int last90 = 0;
+        int last365 = 0;
+        // Ring days still inside today's windows: windowDate - 364 .. windowDate
+        LocalDate from = today.minusDays(WINDOW_DAYS - 1);
+        for (LocalDate day = windowDate.minusDays(WINDOW_DAYS - 1); !day.isAfter(windowDate); day = day.plusDays(1)) {
+            if (day.isBefore(from)) continue;
+            int count = ring[slot(day)] & 0xFF;
+            last365 += count;
+            if (days(day, today) < SHORT_WINDOW_DAYS) last90 += count;
+        }
+        return new int[]{last90, last365};
+    }
+
+    // Helper methods
+    private List<Reliability> rank(int k, Comparator<Reliability> order, boolean needsInterval) {
+        LocalDate today = LocalDate.now();
+        List<Reliability> all = new ArrayList<>();
+        for (LiftReliability stats : liftReliabilityRepository.findAll()) {
+            if (stats.getFailureCount() == 0 || (needsInterval && stats.getFailureCount() < 2)) continue;
+            all.add(Reliability.of(stats, today));
+        }
+        all.sort(order);
+        return all.size() > k ? new ArrayList<>(all.subList(0, k)) : all;
+    }
+
+    private static void clear(LiftReliability stats, LocalDate today) {
+        stats.setFailureCount(0);
+        stats.setFirstFailureDate(null);
+        stats.setLastFailureDate(null);
+        stats.setIntervalSumDays(0L);
+        stats.setIntervalSumSquares(0.0);
+        stats.setFailuresLast90Days(0);
+        stats.setFailuresLast365Days(0);
+        stats.setDailyFailures(new byte[WINDOW_DAYS]);
+        stats.setWindowDate(today);
+    }
+
+    private static LiftReliability newStats(Long liftId, LocalDate today) {
+        LiftReliability stats = new LiftReliability();
+        stats.setLiftId(liftId);
+        stats.setWindowDate(today);
+        return stats;
+    }
+
+    private static Long excludeId(Long serviceRecordId) {
+        return serviceRecordId != null ? serviceRecordId : -1L;
+    }
+
+    private static int slot(LocalDate date) {
+        return Math.floorMod(date.toEpochDay(), WINDOW_DAYS);
+    }
+
+    private static long days(LocalDate from, LocalDate to) {
+        return ChronoUnit.DAYS.between(from, to);
+    }
+
+    /**
+     * A failure of a lift on a date
+     */
+    public static class Failure {
+        private final Long liftId;
+        private final LocalDate date;
+
+        public Failure(Long liftId, LocalDate date) {
+            this.liftId = liftId;
+            this.date = date;
+        }
+
+        /**
+         * The failure a service record stands for, or null if it is not one
+         */
+        public static Failure of(ServiceRecord record) {
+            boolean failure = record.getServiceType() == ServiceRecord.ServiceType.BREAKDOWN_REPAIR
+                || record.getServiceType() == ServiceRecord.ServiceType.AMC_REPAIR;
+            if (!failure || record.getStatus() == ServiceRecord.ServiceStatus.CANCELLED
+                    || record.getLift() == null || record.getServiceDate() == null) {
+                return null;
+            }
+            return new Failure(record.getLift().getId(), record.getServiceDate());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Failure failure && liftId.equals(failure.liftId) && date.equals(failure.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(liftId, date);
+        }
+    }
+
+    /**
+     * Reliability figures of one lift as of a date
+     */
+    public static class Reliability {
+        private final Long liftId;
+        private final int failureCount;
+        private final LocalDate lastFailureDate;
+        private final double mtbfDays;
+        private final double intervalStdDevDays;
+        private final int failuresLast90Days;
+        private final int failuresLast365Days;
+
+        public Reliability(Long liftId, int failureCount, LocalDate lastFailureDate, double mtbfDays,
+                           double intervalStdDevDays, int failuresLast90Days, int failuresLast365Days) {
+            this.liftId = liftId;
+            this.failureCount = failureCount;
+            this.lastFailureDate = lastFailureDate;
+            this.mtbfDays = mtbfDays;
+            this.intervalStdDevDays = intervalStdDevDays;
+            this.failuresLast90Days = failuresLast90Days;
+            this.failuresLast365Days = failuresLast365Days;
+        }
+
+        static Reliability of(LiftReliability stats, LocalDate today) {
+            int intervals = stats.getFailureCount() - 1;
+            double mtbf = Double.NaN;
+            double stdDev = Double.NaN;
+            if (intervals > 0) {
+                mtbf = (double) stats.getIntervalSumDays() / intervals;
+                double variance = stats.getIntervalSumSquares() / intervals - mtbf * mtbf;
+                stdDev = Math.sqrt(Math.max(0, variance));
+            }
+            int[] windows = windowCounts(stats, today);
+            return new Reliability(stats.getLiftId(), stats.getFailureCount(), stats.getLastFailureDate(),
+                mtbf, stdDev, windows[0], windows[1]);
+        }
+
+        public Long getLiftId() {
+            return liftId;
+        }
+
+        public int getFailureCount() {
+            return failureCount;
+        }
+
+        public LocalDate getLastFailureDate() {
+            return lastFailureDate;
+        }
+
+        // Mean days between failures; NaN with fewer than two failures
+        public double getMtbfDays() {
+            return mtbfDays;
+        }
+
+        public double getIntervalStdDevDays() {
+            return intervalStdDevDays;
+        }
+
+        public int getFailuresLast90Days() {
+            return failuresLast90Days;
+        }
+
+        public int getFailuresLast365Days() {
+            return failuresLast365Days;
+        }
+    }
+}
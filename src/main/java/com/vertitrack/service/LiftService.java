@@ -1,8 +1,13 @@
 package com.vertitrack.service;
 
+import com.vertitrack.config.CacheConfig;
 import com.vertitrack.model.Lift;
 import com.vertitrack.repository.LiftRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,9 +21,14 @@ import java.util.Optional;
 public class LiftService {
     
     private final LiftRepository liftRepository;
+    private final PaymentScheduleService paymentScheduleService;
+    private final LiftReliabilityService liftReliabilityService;
     
+    @CacheEvict(cacheNames = CacheConfig.LIFT_COUNTS, allEntries = true)
     public Lift saveLift(Lift lift) {
-        return liftRepository.save(lift);
+        Lift saved = liftRepository.save(lift);
+        paymentScheduleService.syncFromLift(saved);
+        return saved;
     }
     
     public Optional<Lift> findById(Long id) {
@@ -53,7 +63,35 @@ public class LiftService {
         return liftRepository.searchLifts(keyword);
     }
     
+    public List<Lift> findLiftsByIds(List<Long> ids) {
+        return liftRepository.findAllById(ids);
+    }
+    
+    /**
+     * One page of the paged lift table
+     * Seeks from the edge row of a loaded neighbouring page when there is one;
+     * a jump reads the page's ids from the index and then loads those rows.
+     */
+    public List<Lift> findLiftsPage(int page, int pageSize, Sort sort, Lift after, Lift before) {
+        if (after != null) {
+            return KeysetPaging.after(liftRepository, after, sort, pageSize);
+        }
+        if (before != null) {
+            return KeysetPaging.before(liftRepository, before, sort, pageSize);
+        }
+        List<Long> ids = liftRepository.findLiftPageIds(PageRequest.of(page, pageSize, sort));
+        return KeysetPaging.inIdOrder(ids, liftRepository.findAllById(ids), Lift::getId);
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.LIFT_COUNTS, key = "'ALL'", sync = true)
+    public long countAllLifts() {
+        return liftRepository.count();
+    }
+    
+    @CacheEvict(cacheNames = CacheConfig.LIFT_COUNTS, allEntries = true)
     public void deleteLift(Long id) {
+        paymentScheduleService.deleteForLift(id);
+        liftReliabilityService.deleteForLift(id);
         liftRepository.deleteById(id);
     }
     
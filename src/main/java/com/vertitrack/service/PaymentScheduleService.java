@@ -0,0 +1,149 @@
+package com.vertitrack.service;
+
+import com.vertitrack.model.Expense;
+import com.vertitrack.model.Lift;
+import com.vertitrack.model.PaymentSchedule;
+import com.vertitrack.repository.ExpenseRepository;
+import com.vertitrack.repository.PaymentScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payment Schedule Service - Handles AMC installments
+ * A lift's four quarter payment dates are mirrored as one payment_schedule
+ * row each. Due-date queries range-scan the (due_date, status) index, and
+ * paid installments point at the expense that paid them.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class PaymentScheduleService {
+    
+    private final PaymentScheduleRepository paymentScheduleRepository;
+    private final ExpenseRepository expenseRepository;
+    
+    /**
+     * Bring a lift's installments in line with its quarter payment dates
+     * Paid installments are kept as history. Unpaid ones whose date was changed
+     * or cleared are removed if still upcoming, or cancelled if already past due,
+     * so they stop counting as overdue or outstanding.
+     */
+    public void syncFromLift(Lift lift) {
+        Map<LocalDate, Integer> wanted = new LinkedHashMap<>();
+        addInstallment(wanted, lift.getQuarter1PaymentDate(), 1);
+        addInstallment(wanted, lift.getQuarter2PaymentDate(), 2);
+        addInstallment(wanted, lift.getQuarter3PaymentDate(), 3);
+        addInstallment(wanted, lift.getQuarter4PaymentDate(), 4);
+        
+        LocalDate today = LocalDate.now();
+        for (PaymentSchedule row : paymentScheduleRepository.findByLiftIdOrderByDueDate(lift.getId())) {
+            Integer installment = wanted.remove(row.getDueDate());
+            if (row.getStatus() != PaymentSchedule.InstallmentStatus.DUE) continue;
+            if (installment != null) {
+                row.setInstallment(installment);
+                row.setAmount(lift.getQuarterlyAmount());
+            } else if (row.getDueDate().isBefore(today)) {
+                row.setStatus(PaymentSchedule.InstallmentStatus.CANCELLED);
+                paymentScheduleRepository.save(row);
+            } else {
+                paymentScheduleRepository.delete(row);
+            }
+        }
+        
+        for (Map.Entry<LocalDate, Integer> entry : wanted.entrySet()) {
+            PaymentSchedule row = new PaymentSchedule();
+            row.setLift(lift);
+            row.setInstallment(entry.getValue());
+            row.setDueDate(entry.getKey());
+            row.setAmount(lift.getQuarterlyAmount());
+            paymentScheduleRepository.save(row);
+        }
+    }
+    
+    public List<PaymentSchedule> findByLift(Long liftId) {
+        return paymentScheduleRepository.findByLiftIdOrderByDueDate(liftId);
+    }
+    
+    public List<PaymentSchedule> findDueInDays(int days) {
+        LocalDate today = LocalDate.now();
+        return paymentScheduleRepository.findDueBetween(today, today.plusDays(days));
+    }
+    
+    public List<PaymentSchedule> findDueOn(Collection<LocalDate> dates) {
+        return paymentScheduleRepository.findDueOn(dates);
+    }
+    
+    public List<PaymentSchedule> findOverdue() {
+        return paymentScheduleRepository.findOverdue(LocalDate.now());
+    }
+    
+    /**
+     * Unpaid installment amounts per month, for months that have any
+     */
+    public Map<YearMonth, Double> forecastByMonth(YearMonth from, YearMonth to) {
+        Map<YearMonth, Double> forecast = new LinkedHashMap<>();
+        for (Object[] row : paymentScheduleRepository.forecastByMonth(from.atDay(1), to.atEndOfMonth())) {
+            YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            forecast.put(month, ((Number) row[2]).doubleValue());
+        }
+        return forecast;
+    }
+    
+    public Double getOutstandingTotal() {
+        return paymentScheduleRepository.getOutstandingTotal();
+    }
+    
+    /**
+     * Mark an installment paid by an expense
+     */
+    public PaymentSchedule markPaid(Long scheduleId, Long expenseId) {
+        PaymentSchedule row = paymentScheduleRepository.findById(scheduleId)
+            .orElseThrow(() -> new IllegalArgumentException("Payment schedule not found: " + scheduleId));
+        Expense expense = expenseRepository.findById(expenseId)
+            .orElseThrow(() -> new IllegalArgumentException("Expense not found: " + expenseId));
+        row.setStatus(PaymentSchedule.InstallmentStatus.PAID);
+        row.setExpense(expense);
+        row.setPaidAt(LocalDateTime.now());
+        return paymentScheduleRepository.save(row);
+    }
+    
+    public void cancel(Long scheduleId) {
+        paymentScheduleRepository.findById(scheduleId).ifPresent(row -> {
+            row.setStatus(PaymentSchedule.InstallmentStatus.CANCELLED);
+            paymentScheduleRepository.save(row);
+        });
+    }
+    
+    public void deleteForLift(Long liftId) {
+        int deleted = paymentScheduleRepository.deleteByLiftId(liftId);
+        log.debug("Deleted {} installments of lift {}", deleted, liftId);
+    }
+    
+    /**
+     * Reopen installments paid by an expense that is about to be deleted
+     */
+    public void expenseDeleted(Long expenseId) {
+        int reopened = paymentScheduleRepository.reopenPaidByExpense(expenseId);
+        if (reopened > 0) {
+            log.info("Reopened {} installments paid by deleted expense {}", reopened, expenseId);
+        }
+    }
+    
+    // Helper methods
+    private void addInstallment(Map<LocalDate, Integer> installments, LocalDate dueDate, int installment) {
+        if (dueDate != null) {
+            installments.putIfAbsent(dueDate, installment);
+        }
+    }
+}
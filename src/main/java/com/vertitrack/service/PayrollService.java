@@ -0,0 +1,305 @@
+package com.vertitrack.service;
+
+import com.vertitrack.model.Attendance;
+import com.vertitrack.model.PayrollLine;
+import com.vertitrack.model.PayrollRun;
+import com.vertitrack.repository.PayrollLineRepository;
+import com.vertitrack.repository.PayrollRunRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Payroll Service - Month-end pay for the whole roster
+ *
+ * The month's inputs are loaded in four set-based reads: the payable
+ * employees, the attendance bitmaps (one partition-pruned query), unpaid
+ * leave days and employee reimbursements per employee. Each employee's
+ * payable days, overtime and reimbursements are then computed in parallel on
+ * the service's fork-join pool, and the run is stored as a PayrollRun with one
+ * PayrollLine per employee.
+ *
+ * Paid days are PRESENT, ON_DUTY, WORK_FROM_HOME, HOLIDAY and LEAVE (except
+ * UNPAID_LEAVE), half a day for HALF_DAY, capped at the month's working days.
+ * Unmarked days are not paid.
+ */
+@Service
+@Lazy
+@Transactional
+@Slf4j
+public class PayrollService {
+
+    // Employees per fork-join leaf task
+    private static final int SPLIT_THRESHOLD = 256;
+
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollLineRepository payrollLineRepository;
+    private final AttendanceService attendanceService;
+    private final AttendanceBitmapStore attendanceBitmapStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final Rates rates;
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public PayrollService(PayrollRunRepository payrollRunRepository,
+                          PayrollLineRepository payrollLineRepository,
+                          AttendanceService attendanceService,
+                          AttendanceBitmapStore attendanceBitmapStore,
+                          JdbcTemplate jdbcTemplate,
+                          @Value("${vertitrack.payroll.hours-per-day:8}") double hoursPerDay,
+                          @Value("${vertitrack.payroll.overtime-multiplier:1.5}") double overtimeMultiplier) {
+        this.payrollRunRepository = payrollRunRepository;
+        this.payrollLineRepository = payrollLineRepository;
+        this.attendanceService = attendanceService;
+        this.attendanceBitmapStore = attendanceBitmapStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rates = new Rates(hoursPerDay, overtimeMultiplier);
+    }
+
+    /**
+     * Compute and store the payroll of a month, replacing an earlier run of the same month
+     */
+    public PayrollRun runPayroll(int year, int month) {
+        long start = System.nanoTime();
+        YearMonth yearMonth = YearMonth.of(year, month);
+        int workingDays = attendanceService.getWorkingDaysInMonth(year, month);
+
+        List<PayrollInput> inputs = loadInputs(yearMonth);
+        PayrollLine[] lines = new PayrollLine[inputs.size()];
+        pool.invoke(new PayrollTask(inputs, lines, workingDays, rates, 0, inputs.size()));
+
+        payrollRunRepository.findByPayrollYearAndPayrollMonth(year, month).ifPresent(previous -> {
+            payrollLineRepository.deleteByPayrollRunId(previous.getId());
+            payrollRunRepository.delete(previous);
+            payrollRunRepository.flush();
+        });
+
+        PayrollRun run = new PayrollRun();
+        run.setPayrollYear(year);
+        run.setPayrollMonth(month);
+        run.setWorkingDays(workingDays);
+        run.setEmployeeCount(lines.length);
+        double basePay = 0, overtimePay = 0, reimbursements = 0, netPay = 0;
+        for (PayrollLine line : lines) {
+            basePay += line.getBasePay();
+            overtimePay += line.getOvertimePay();
+            reimbursements += line.getReimbursements();
+            netPay += line.getNetPay();
+        }
+        run.setTotalBasePay(round(basePay));
+        run.setTotalOvertimePay(round(overtimePay));
+        run.setTotalReimbursements(round(reimbursements));
+        run.setTotalNetPay(round(netPay));
+        run.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        run = payrollRunRepository.saveAndFlush(run);
+        insertLines(run.getId(), lines);
+
+        log.info("Payroll {}: {} employees, net pay {} in {} ms", yearMonth, lines.length,
+            run.getTotalNetPay(), run.getElapsedMillis());
+        return run;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<PayrollRun> findRun(int year, int month) {
+        return payrollRunRepository.findByPayrollYearAndPayrollMonth(year, month);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PayrollRun> findAllRuns() {
+        return payrollRunRepository.findAllByOrderByPayrollYearDescPayrollMonthDesc();
+    }
+
+    @Transactional(readOnly = true)
+    public List<PayrollLine> findLines(Long payrollRunId) {
+        return payrollLineRepository.findByPayrollRunIdOrderByEmployeeCode(payrollRunId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PayrollLine> findLinesByEmployee(Long employeeId) {
+        return payrollLineRepository.findByEmployeeId(employeeId);
+    }
+
+    // Bulk loading
+    private List<PayrollInput> loadInputs(YearMonth month) {
+        Date from = Date.valueOf(month.atDay(1));
+        Date to = Date.valueOf(month.atEndOfMonth());
+
+        Map<Long, AttendanceBitmapStore.EmployeeMonth> attendance = attendanceBitmapStore.getMonth(month);
+
+        Map<Long, Integer> unpaidLeave = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT employee_id, COUNT(*) FROM attendance WHERE attendance_date BETWEEN ? AND ? " +
+            "AND status = 'LEAVE' AND leave_type = 'UNPAID_LEAVE' GROUP BY employee_id",
+            rs -> {
+                unpaidLeave.put(rs.getLong(1), rs.getInt(2));
+            }, from, to);
+
+        Map<Long, Double> reimbursements = new HashMap<>();
+        jdbcTemplate.query(
+            "SELECT employee_id, SUM(amount) FROM expenses WHERE employee_id IS NOT NULL " +
+            "AND expense_type IN ('EMPLOYEE_PETROL', 'EMPLOYEE_OTHER') AND expense_date BETWEEN ? AND ? " +
+            "AND (payment_status IS NULL OR payment_status <> 'CANCELLED') GROUP BY employee_id",
+            rs -> {
+                reimbursements.put(rs.getLong(1), rs.getDouble(2));
+            }, from, to);
+
+        // Everyone employed during the month; leavers get their final month
+        List<PayrollInput> inputs = new ArrayList<>();
+        jdbcTemplate.query(
+            "SELECT id, employee_code, first_name, last_name, salary FROM employees " +
+            "WHERE salary IS NOT NULL AND joining_date <= ? AND (relieving_date IS NULL OR relieving_date >= ?) " +
+            "AND (status IN ('ACTIVE', 'ON_LEAVE') OR relieving_date IS NOT NULL) ORDER BY id",
+            rs -> {
+                long id = rs.getLong(1);
+                String lastName = rs.getString(4);
+                inputs.add(new PayrollInput(id, rs.getString(2),
+                    lastName != null ? rs.getString(3) + " " + lastName : rs.getString(3),
+                    rs.getDouble(5), attendance.get(id), unpaidLeave.getOrDefault(id, 0),
+                    reimbursements.getOrDefault(id, 0.0)));
+            }, to, from);
+        return inputs;
+    }
+
+    private void insertLines(Long payrollRunId, PayrollLine[] lines) {
+        List<Object[]> rows = new ArrayList<>(lines.length);
+        for (PayrollLine line : lines) {
+            rows.add(new Object[]{payrollRunId, line.getEmployeeId(), line.getEmployeeCode(), line.getEmployeeName(),
+                line.getSalary(), line.getPayableDays(), line.getAbsentDays(), line.getUnpaidLeaveDays(),
+                line.getOvertimeHours(), line.getBasePay(), line.getOvertimePay(), line.getReimbursements(),
+                line.getNetPay()});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO payroll_lines (payroll_run_id, employee_id, employee_code, employee_name, salary, " +
+            "payable_days, absent_days, unpaid_leave_days, overtime_hours, base_pay, overtime_pay, " +
+            "reimbursements, net_pay) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    // Computation
+    static PayrollLine compute(PayrollInput input, int workingDays, Rates rates) {
+        AttendanceBitmapStore.EmployeeMonth attendance = input.attendance;
+        double paidDays = 0;
+        int absentDays = 0;
+        double overtimeHours = 0;
+        if (attendance != null) {
+            paidDays = attendance.count(Attendance.AttendanceStatus.PRESENT)
+                + attendance.count(Attendance.AttendanceStatus.ON_DUTY)
+                + attendance.count(Attendance.AttendanceStatus.WORK_FROM_HOME)
+                + attendance.count(Attendance.AttendanceStatus.HOLIDAY)
+                + attendance.count(Attendance.AttendanceStatus.LEAVE) - input.unpaidLeaveDays
+                + attendance.count(Attendance.AttendanceStatus.HALF_DAY) * 0.5;
+            absentDays = attendance.count(Attendance.AttendanceStatus.ABSENT);
+            overtimeHours = attendance.totalOvertimeHours();
+        }
+        double payableDays = Math.min(Math.max(paidDays, 0), workingDays);
+
+        double dailyRate = workingDays > 0 ? input.salary / workingDays : 0;
+        double basePay = round(dailyRate * payableDays);
+        double overtimePay = round(overtimeHours * dailyRate / rates.hoursPerDay * rates.overtimeMultiplier);
+        double reimbursements = round(input.reimbursements);
+
+        PayrollLine line = new PayrollLine();
+        line.setEmployeeId(input.employeeId);
+        line.setEmployeeCode(input.employeeCode);
+        line.setEmployeeName(input.employeeName);
+        line.setSalary(input.salary);
+        line.setPayableDays(payableDays);
+        line.setAbsentDays(absentDays);
+        line.setUnpaidLeaveDays(input.unpaidLeaveDays);
+        line.setOvertimeHours(overtimeHours);
+        line.setBasePay(basePay);
+        line.setOvertimePay(overtimePay);
+        line.setReimbursements(reimbursements);
+        line.setNetPay(round(basePay + overtimePay + reimbursements));
+        return line;
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+
+    /**
+     * Computes the lines of employees [from, to), splitting until SPLIT_THRESHOLD
+     */
+    private static class PayrollTask extends RecursiveAction {
+        private final List<PayrollInput> inputs;
+        private final PayrollLine[] lines;
+        private final int workingDays;
+        private final Rates rates;
+        private final int from;
+        private final int to;
+
+        PayrollTask(List<PayrollInput> inputs, PayrollLine[] lines, int workingDays, Rates rates, int from, int to) {
+            this.inputs = inputs;
+            this.lines = lines;
+            this.workingDays = workingDays;
+            this.rates = rates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    lines[i] = PayrollService.compute(inputs.get(i), workingDays, rates);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PayrollTask(inputs, lines, workingDays, rates, from, middle),
+                new PayrollTask(inputs, lines, workingDays, rates, middle, to));
+        }
+    }
+
+    /**
+     * One employee's loaded inputs for the month
+     */
+    static class PayrollInput {
+        private final long employeeId;
+        private final String employeeCode;
+        private final String employeeName;
+        private final double salary;
+        private final AttendanceBitmapStore.EmployeeMonth attendance; // null if nothing marked
+        private final int unpaidLeaveDays;
+        private final double reimbursements;
+
+        PayrollInput(long employeeId, String employeeCode, String employeeName, double salary,
+                     AttendanceBitmapStore.EmployeeMonth attendance, int unpaidLeaveDays, double reimbursements) {
+            this.employeeId = employeeId;
+            this.employeeCode = employeeCode;
+            this.employeeName = employeeName;
+            this.salary = salary;
+            this.attendance = attendance;
+            this.unpaidLeaveDays = unpaidLeaveDays;
+            this.reimbursements = reimbursements;
+        }
+    }
+
+    static class Rates {
+        private final double hoursPerDay;
+        private final double overtimeMultiplier;
+
+        Rates(double hoursPerDay, double overtimeMultiplier) {
+            this.hoursPerDay = hoursPerDay;
+            this.overtimeMultiplier = overtimeMultiplier;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.vertitrack.service;
 
 import com.vertitrack.model.Attendance;
 import com.vertitrack.model.Lift;
+import com.vertitrack.model.PaymentSchedule;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -28,6 +29,7 @@ public class ReminderService {
     private final AlertService alertService;
     private final ServiceRecordService serviceRecordService;
     private final AttendanceService attendanceService;
+    private final PaymentScheduleService paymentScheduleService;
     
     /**
      * Daily scheduled task - runs every day at 9:00 AM
@@ -85,30 +87,23 @@ public class ReminderService {
         log.info("Checking quarterly payment alerts...");
         
         LocalDate today = LocalDate.now();
-        List<Lift> allActiveLifts = liftService.findAllActiveLifts();
-        
-        for (Lift lift : allActiveLifts) {
-            // Check all four quarters
-            checkQuarterPayment(lift, lift.getQuarter1PaymentDate(), "Quarter 1", today);
-            checkQuarterPayment(lift, lift.getQuarter2PaymentDate(), "Quarter 2", today);
-            checkQuarterPayment(lift, lift.getQuarter3PaymentDate(), "Quarter 3", today);
-            checkQuarterPayment(lift, lift.getQuarter4PaymentDate(), "Quarter 4", today);
-        }
         
-        log.info("Quarterly payment check completed");
-    }
-    
-    private void checkQuarterPayment(Lift lift, LocalDate paymentDate, String quarter, LocalDate today) {
-        if (paymentDate != null) {
-            long daysUntilPayment = ChronoUnit.DAYS.between(today, paymentDate);
+        // Alert 15, 7, and 3 days before payment due, and on the day
+        List<LocalDate> milestones = List.of(today.plusDays(15), today.plusDays(7), today.plusDays(3), today);
+        List<PaymentSchedule> dueInstallments = paymentScheduleService.findDueOn(milestones);
+        
+        for (PaymentSchedule installment : dueInstallments) {
+            Lift lift = installment.getLift();
+            if (lift.getStatus() != Lift.LiftStatus.ACTIVE) continue;
             
-            // Alert 15, 7, and 3 days before payment due
-            if (daysUntilPayment >= 0 && (daysUntilPayment == 15 || daysUntilPayment == 7 || daysUntilPayment == 3 || daysUntilPayment == 0)) {
-                alertService.createQuarterlyPaymentAlert(lift, paymentDate, quarter);
-                log.info("Created {} payment alert for lift {} - {} days remaining", 
-                    quarter, lift.getLiftNumber(), daysUntilPayment);
-            }
+            String quarter = "Quarter " + installment.getInstallment();
+            long daysUntilPayment = ChronoUnit.DAYS.between(today, installment.getDueDate());
+            alertService.createQuarterlyPaymentAlert(lift, installment.getDueDate(), quarter);
+            log.info("Created {} payment alert for lift {} - {} days remaining", 
+                quarter, lift.getLiftNumber(), daysUntilPayment);
         }
+        
+        log.info("Quarterly payment check completed. {} installments at a reminder milestone", dueInstallments.size());
     }
     
     /**
@@ -17,6 +17,7 @@ import java.util.Optional;
 public class ServiceRecordService {
     
     private final ServiceRecordRepository serviceRecordRepository;
+    private final LiftReliabilityService liftReliabilityService;
     
     public ServiceRecord saveServiceRecord(ServiceRecord serviceRecord) {
         // Calculate total cost if not set
@@ -25,7 +26,11 @@ public class ServiceRecordService {
             double partsCost = serviceRecord.getPartsCost() != null ? serviceRecord.getPartsCost() : 0.0;
             serviceRecord.setTotalCost(laborCost + partsCost);
         }
-        return serviceRecordRepository.save(serviceRecord);
+        LiftReliabilityService.Failure before = serviceRecord.getId() != null
+            ? liftReliabilityService.findStoredFailure(serviceRecord.getId()) : null;
+        ServiceRecord saved = serviceRecordRepository.save(serviceRecord);
+        liftReliabilityService.failureChanged(saved.getId(), before, LiftReliabilityService.Failure.of(saved));
+        return saved;
     }
     
     public Optional<ServiceRecord> findById(Long id) {
@@ -96,7 +101,9 @@ public class ServiceRecordService {
     }
     
     public void deleteServiceRecord(Long id) {
+        LiftReliabilityService.Failure before = liftReliabilityService.findStoredFailure(id);
         serviceRecordRepository.deleteById(id);
+        liftReliabilityService.failureChanged(id, before, null);
     }
     
     // Business Logic
@@ -0,0 +1,144 @@
+package com.vertitrack.service;
+
+import com.vertitrack.model.Attendance;
+import com.vertitrack.model.Expense;
+import com.vertitrack.model.ServiceRecord;
+import com.vertitrack.service.ColumnarSnapshotWriter.Column;
+import com.vertitrack.service.ColumnarSnapshotWriter.ColumnType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Snapshot Export Service - Exports history in the binary columnar format
+ * for analytics reloads. Read the files back with ColumnarSnapshotReader.
+ */
+@Service
+@Lazy
+@RequiredArgsConstructor
+@Slf4j
+public class SnapshotExportService {
+
+    private final ExpenseService expenseService;
+    private final ServiceRecordService serviceRecordService;
+    private final AttendanceService attendanceService;
+
+    public static final List<Column> EXPENSE_COLUMNS = List.of(
+        new Column("id", ColumnType.LONG),
+        new Column("expenseDate", ColumnType.DATE),
+        new Column("expenseType", ColumnType.STRING),
+        new Column("category", ColumnType.STRING),
+        new Column("amount", ColumnType.AMOUNT),
+        new Column("liftId", ColumnType.LONG),
+        new Column("employeeId", ColumnType.LONG),
+        new Column("paidTo", ColumnType.STRING),
+        new Column("paymentMode", ColumnType.STRING),
+        new Column("paymentStatus", ColumnType.STRING)
+    );
+
+    public static final List<Column> SERVICE_RECORD_COLUMNS = List.of(
+        new Column("id", ColumnType.LONG),
+        new Column("serviceDate", ColumnType.DATE),
+        new Column("liftId", ColumnType.LONG),
+        new Column("serviceType", ColumnType.STRING),
+        new Column("performedBy", ColumnType.STRING),
+        new Column("laborCost", ColumnType.AMOUNT),
+        new Column("partsCost", ColumnType.AMOUNT),
+        new Column("totalCost", ColumnType.AMOUNT),
+        new Column("status", ColumnType.STRING)
+    );
+
+    public static final List<Column> ATTENDANCE_COLUMNS = List.of(
+        new Column("id", ColumnType.LONG),
+        new Column("attendanceDate", ColumnType.DATE),
+        new Column("employeeId", ColumnType.LONG),
+        new Column("status", ColumnType.STRING),
+        new Column("workHours", ColumnType.AMOUNT),
+        new Column("overtimeHours", ColumnType.AMOUNT),
+        new Column("leaveType", ColumnType.STRING)
+    );
+
+    /**
+     * Export expenses between dates to a columnar snapshot
+     */
+    public Path exportExpenseSnapshot(LocalDate startDate, LocalDate endDate, String filePath) throws IOException {
+        List<Expense> expenses = expenseService.findExpensesBetweenDates(startDate, endDate);
+        Path path = Paths.get(filePath);
+
+        try (ColumnarSnapshotWriter writer = new ColumnarSnapshotWriter(path, "expenses", EXPENSE_COLUMNS)) {
+            for (Expense expense : expenses) {
+                writer.setLong(0, expense.getId());
+                writer.setDate(1, expense.getExpenseDate());
+                writer.setString(2, expense.getExpenseType());
+                writer.setString(3, expense.getCategory());
+                writer.setAmount(4, expense.getAmount());
+                writer.setLong(5, expense.getLift() != null ? expense.getLift().getId() : null);
+                writer.setLong(6, expense.getEmployee() != null ? expense.getEmployee().getId() : null);
+                writer.setString(7, expense.getPaidTo());
+                writer.setString(8, expense.getPaymentMode());
+                writer.setString(9, expense.getPaymentStatus());
+                writer.endRow();
+            }
+        }
+
+        log.info("Exported {} expenses snapshot to {}", expenses.size(), filePath);
+        return path;
+    }
+
+    /**
+     * Export service records between dates to a columnar snapshot
+     */
+    public Path exportServiceRecordSnapshot(LocalDate startDate, LocalDate endDate, String filePath) throws IOException {
+        List<ServiceRecord> records = serviceRecordService.findServiceRecordsBetweenDates(startDate, endDate);
+        Path path = Paths.get(filePath);
+
+        try (ColumnarSnapshotWriter writer = new ColumnarSnapshotWriter(path, "service_records", SERVICE_RECORD_COLUMNS)) {
+            for (ServiceRecord record : records) {
+                writer.setLong(0, record.getId());
+                writer.setDate(1, record.getServiceDate());
+                writer.setLong(2, record.getLift() != null ? record.getLift().getId() : null);
+                writer.setString(3, record.getServiceType());
+                writer.setString(4, record.getPerformedBy());
+                writer.setAmount(5, record.getLaborCost());
+                writer.setAmount(6, record.getPartsCost());
+                writer.setAmount(7, record.getTotalCost());
+                writer.setString(8, record.getStatus());
+                writer.endRow();
+            }
+        }
+
+        log.info("Exported {} service records snapshot to {}", records.size(), filePath);
+        return path;
+    }
+
+    /**
+     * Export attendance between dates to a columnar snapshot
+     */
+    public Path exportAttendanceSnapshot(LocalDate startDate, LocalDate endDate, String filePath) throws IOException {
+        List<Attendance> attendanceList = attendanceService.findAttendanceBetweenDates(startDate, endDate);
+        Path path = Paths.get(filePath);
+
+        try (ColumnarSnapshotWriter writer = new ColumnarSnapshotWriter(path, "attendance", ATTENDANCE_COLUMNS)) {
+            for (Attendance attendance : attendanceList) {
+                writer.setLong(0, attendance.getId());
+                writer.setDate(1, attendance.getAttendanceDate());
+                writer.setLong(2, attendance.getEmployee() != null ? attendance.getEmployee().getId() : null);
+                writer.setString(3, attendance.getStatus());
+                writer.setAmount(4, attendance.getWorkHours());
+                writer.setAmount(5, attendance.getOvertimeHours());
+                writer.setString(6, attendance.getLeaveType());
+                writer.endRow();
+            }
+        }
+
+        log.info("Exported {} attendance snapshot to {}", attendanceList.size(), filePath);
+        return path;
+    }
+}
@@ -0,0 +1,69 @@
+package com.vertitrack.service;
+
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+
+/**
+ * State Transition - Single-statement optimistic state changes with bounded retry
+ *
+ * A transition is one conditional UPDATE that matches the row's id, the
+ * version the caller last saw and the source state, and bumps the version.
+ * When it matches no row, the current version and state are read: a row
+ * still in the source state only had other fields changed, so the UPDATE is
+ * retried with the new version, at most MAX_ATTEMPTS times. No row lock is
+ * taken, and the uncontended case is one round trip instead of a select
+ * followed by an update.
+ */
+public final class StateTransition {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    public enum Result {
+        APPLIED,            // This call made the change
+        ALREADY_APPLIED,    // The row was already in the target state
+        NOT_ALLOWED,        // The row is in a state the transition does not start from
+        NOT_FOUND,
+        CONFLICT;           // Still changing under us after MAX_ATTEMPTS
+
+        public boolean isApplied() {
+            return this == APPLIED;
+        }
+    }
+
+    private StateTransition() {
+    }
+
+    /**
+     * @param update  runs the conditional UPDATE for a version; true if it changed the row
+     * @param current reads the row's version and state after a miss; null if the row is gone
+     */
+    static Result apply(long expectedVersion, LongPredicate update, Supplier<Current> current) {
+        long version = expectedVersion;
+        for (int attempt = 1; ; attempt++) {
+            if (update.test(version)) {
+                return Result.APPLIED;
+            }
+            Current now = current.get();
+            if (now == null) return Result.NOT_FOUND;
+            if (now.inTarget) return Result.ALREADY_APPLIED;
+            if (!now.inSource) return Result.NOT_ALLOWED;
+            if (attempt == MAX_ATTEMPTS) return Result.CONFLICT;
+            version = now.version;
+        }
+    }
+
+    /**
+     * A row's version and where its state stands relative to the transition
+     */
+    static class Current {
+        private final long version;
+        private final boolean inSource;
+        private final boolean inTarget;
+
+        Current(long version, boolean inSource, boolean inTarget) {
+            this.version = version;
+            this.inSource = inSource;
+            this.inTarget = inTarget;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.vertitrack.service;
+
+import com.vertitrack.model.Attendance;
+import com.vertitrack.model.PayrollRun;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Payroll Benchmark - runPayroll end to end at 10,000 employees
+ *
+ * Seeds a synthetic roster with a month of attendance into the configured
+ * database, then times runPayroll (bulk load, parallel compute, stored run)
+ * with the attendance bitmap cache dropped before every round, so each round
+ * pays for the full load. Everything runs in one transaction that is rolled
+ * back at the end. Not picked up by a plain test run; start it with
+ *   mvn test -Dtest=PayrollBenchmark [-Dvertitrack.benchmark.employees=20000]
+ */
+@SpringBootTest
+@Transactional
+@Slf4j
+class PayrollBenchmark {
+
+    private static final String CODE_PREFIX = "BENCH";
+    private static final int WARM_UP_ROUNDS = 2;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private AttendanceBitmapStore attendanceBitmapStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void runPayrollAtTenThousandEmployees() {
+        int employees = Integer.getInteger("vertitrack.benchmark.employees", 10_000);
+        YearMonth month = YearMonth.now().minusMonths(1);
+        seed(employees, month);
+
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            timeRun(month);
+        }
+        long bestMillis = Long.MAX_VALUE;
+        long totalMillis = 0;
+        PayrollRun run = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            run = timeRun(month);
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            bestMillis = Math.min(bestMillis, elapsed);
+            totalMillis += elapsed;
+        }
+
+        log.info("Payroll benchmark: {} seeded employees ({} in run), best {} ms, average {} ms",
+            employees, run.getEmployeeCount(), bestMillis, totalMillis / ROUNDS);
+        assertTrue(run.getEmployeeCount() >= employees);
+    }
+
+    // Helper methods
+    private PayrollRun timeRun(YearMonth month) {
+        attendanceBitmapStore.invalidateAll();
+        return payrollService.runPayroll(month.getYear(), month.getMonthValue());
+    }
+
+    private void seed(int employees, YearMonth month) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Random random = new Random(42);
+
+        List<Object[]> employeeRows = new ArrayList<>(employees);
+        for (int i = 1; i <= employees; i++) {
+            employeeRows.add(new Object[]{String.format("%s%06d", CODE_PREFIX, i), "Employee", String.valueOf(i),
+                "Technician", String.format("B%09d", i), Date.valueOf(month.atDay(1).minusYears(1)),
+                15_000 + random.nextInt(50_000), now, now});
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO employees (employee_code, first_name, last_name, designation, contact_number, " +
+            "joining_date, salary, status, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?, ?, 0)", employeeRows);
+
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM employees WHERE employee_code LIKE ? ORDER BY id", Long.class, CODE_PREFIX + "%");
+
+        // Mostly PRESENT, with some overtime and a scattering of other statuses
+        Attendance.AttendanceStatus[] statuses = Attendance.AttendanceStatus.values();
+        List<Object[]> attendanceRows = new ArrayList<>(ids.size() * month.lengthOfMonth());
+        for (Long id : ids) {
+            for (int day = 1; day <= month.lengthOfMonth(); day++) {
+                LocalDate date = month.atDay(day);
+                Attendance.AttendanceStatus status = random.nextInt(10) < 8
+                    ? Attendance.AttendanceStatus.PRESENT : statuses[random.nextInt(statuses.length)];
+                attendanceRows.add(new Object[]{id, Date.valueOf(date), status.name(), 8.0,
+                    random.nextInt(4) == 0 ? 2.0 : 0.0, now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO attendance (employee_id, attendance_date, status, work_hours, overtime_hours, " +
+            "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0) " +
+            "ON DUPLICATE KEY UPDATE status = VALUES(status)", attendanceRows);
+        log.info("Seeded {} employees and {} attendance rows for {}", ids.size(), attendanceRows.size(), month);
+    }
+}